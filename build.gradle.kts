@@ -1,6 +1,7 @@
 plugins {
     id("org.openrewrite.build.recipe-library") version "latest.release"
     id("org.openrewrite.build.moderne-source-available-license") version "latest.release"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "org.openrewrite.recipe"
@@ -27,9 +28,20 @@ dependencies {
 
     testRuntimeOnly("com.launchdarkly:launchdarkly-java-server-sdk:5.+")
     testRuntimeOnly(gradleApi())
+
+    jmh(platform("org.openrewrite:rewrite-bom:$rewriteVersion"))
+    jmh("org.openrewrite:rewrite-java-21")
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    // The synthetic corpus generator is shared with the tests
+    includeTests.set(true)
+    // Reports the allocation rate next to the throughput of each benchmark
+    profilers.add("gc")
 }
 
 recipeDependencies {
     parserClasspath("com.launchdarkly:launchdarkly-java-server-sdk:6.+")
-    //parserClasspath("com.launchdarkly:launchdarkly-java-server-sdk:7.+")
+    parserClasspath("com.launchdarkly:launchdarkly-java-server-sdk:7.+")
 }
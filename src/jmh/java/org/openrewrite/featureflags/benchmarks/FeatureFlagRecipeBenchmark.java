@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openrewrite.*;
+import org.openrewrite.featureflags.RemoveBooleanFlag;
+import org.openrewrite.featureflags.launchdarkly.ChangeVariationDefault;
+import org.openrewrite.featureflags.launchdarkly.MigrateUserToContext;
+import org.openrewrite.featureflags.launchdarkly.search.FindFeatureFlag;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Runs the feature flag recipes over synthetic LaunchDarkly compilation units.
+ * Run with {@code ./gradlew jmh}; the {@code gc} profiler reports the allocation rate of each benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+public class FeatureFlagRecipeBenchmark {
+    private static final String BOOL_VARIATION = "com.launchdarkly.sdk.server.LDClient boolVariation(String, com.launchdarkly.sdk.*, boolean)";
+    private static final String FEATURE_KEY = "flag-key-0";
+
+    /**
+     * The number of methods without feature flag evaluations in each compilation unit.
+     */
+    @Param({"10", "200"})
+    int fileSize;
+
+    /**
+     * The number of feature flag evaluations in each compilation unit, over as many different feature keys.
+     */
+    @Param({"1", "20"})
+    int callSites;
+
+    @Param({"literal", "constant"})
+    String keyStyle;
+
+    @Param({"20"})
+    int files;
+
+    LargeSourceSet sourceSet;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        List<String> sources = new ArrayList<>();
+        for (int i = 0; i < files; i++) {
+            sources.add(compilationUnit(i));
+        }
+        List<SourceFile> parsed = JavaParser.fromJavaVersion()
+                .classpath(JavaParser.dependenciesFromResources(ctx, "launchdarkly-java-server-sdk-6.+"))
+                .build()
+                .parse(ctx, sources.toArray(new String[0]))
+                .collect(toList());
+        sourceSet = new InMemoryLargeSourceSet(parsed);
+    }
+
+    @Benchmark
+    public RecipeRun removeBooleanFlag() {
+        return run(new RemoveBooleanFlag(BOOL_VARIATION, FEATURE_KEY, true));
+    }
+
+    @Benchmark
+    public RecipeRun findFeatureFlag() {
+        return run(new org.openrewrite.featureflags.search.FindFeatureFlag(BOOL_VARIATION, null));
+    }
+
+    @Benchmark
+    public RecipeRun findFeatureFlagWithKey() {
+        return run(new org.openrewrite.featureflags.search.FindFeatureFlag(BOOL_VARIATION, FEATURE_KEY));
+    }
+
+    @Benchmark
+    public RecipeRun findLaunchDarklyFeatureFlag() {
+        return run(new FindFeatureFlag(null, FEATURE_KEY));
+    }
+
+    @Benchmark
+    public RecipeRun changeVariationDefault() {
+        return run(new ChangeVariationDefault(FEATURE_KEY, "true"));
+    }
+
+    @Benchmark
+    public RecipeRun migrateUserToContext() {
+        return run(new MigrateUserToContext());
+    }
+
+    private RecipeRun run(Recipe recipe) {
+        return recipe.run(sourceSet, new InMemoryExecutionContext());
+    }
+
+    private String compilationUnit(int index) {
+        boolean constants = "constant".equals(keyStyle);
+        StringBuilder source = new StringBuilder()
+                .append("package com.acme.module").append(index % 4).append(";\n\n")
+                .append("import com.launchdarkly.sdk.LDContext;\n")
+                .append("import com.launchdarkly.sdk.LDUser;\n")
+                .append("import com.launchdarkly.sdk.server.LDClient;\n\n")
+                .append("public class Service").append(index).append(" {\n");
+        if (constants) {
+            for (int i = 0; i < callSites; i++) {
+                source.append("    private static final String KEY_").append(i).append(" = \"flag-key-").append(i).append("\";\n");
+            }
+        }
+        source.append("    private final LDClient client = new LDClient(\"sdk-key\");\n\n")
+                .append("    LDUser user(String key) {\n")
+                .append("        return new LDUser.Builder(key).email(key + \"@example.com\").build();\n")
+                .append("    }\n\n");
+        for (int i = 0; i < callSites; i++) {
+            String key = constants ? "KEY_" + i : "\"flag-key-" + i + "\"";
+            source.append("    int evaluate").append(i).append("(LDContext context, int value) {\n")
+                    .append("        if (client.boolVariation(").append(key).append(", context, false)) {\n")
+                    .append("            return value + ").append(i).append(";\n")
+                    .append("        }\n")
+                    .append("        return value;\n")
+                    .append("    }\n\n");
+        }
+        for (int i = 0; i < fileSize; i++) {
+            source.append("    int compute").append(i).append("(int a, int b) {\n")
+                    .append("        int sum = a + b;\n")
+                    .append("        for (int j = 0; j < b; j++) {\n")
+                    .append("            sum += j * ").append(i).append(";\n")
+                    .append("        }\n")
+                    .append("        return sum;\n")
+                    .append("    }\n\n");
+        }
+        return source.append("}\n").toString();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openrewrite.*;
+import org.openrewrite.config.Environment;
+import org.openrewrite.featureflags.RemoveBooleanFlag;
+import org.openrewrite.featureflags.SyntheticCorpus;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs recipes over a multi-module {@link SyntheticCorpus} using every supported SDK.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class FleetBenchmark {
+    private static final String BOOL_VARIATION = "com.launchdarkly.sdk.server.LDClient boolVariation(String, com.launchdarkly.sdk.*, boolean)";
+
+    @Param({"4", "20"})
+    int modules;
+
+    @Param({"50"})
+    int classesPerModule;
+
+    /**
+     * The share of methods that evaluate a feature flag.
+     */
+    @Param({"0.05", "0.5"})
+    double evaluationDensity;
+
+    LargeSourceSet sourceSet;
+    LargeSourceSet launchDarklySourceSet;
+    Recipe upgradeLaunchDarkly7;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        sourceSet = new InMemoryLargeSourceSet(corpus().parse(ctx));
+        launchDarklySourceSet = new InMemoryLargeSourceSet(corpus().sdks(SyntheticCorpus.Sdk.LAUNCHDARKLY).parse(ctx));
+        upgradeLaunchDarkly7 = Environment.builder()
+                .scanRuntimeClasspath("org.openrewrite.featureflags")
+                .build()
+                .activateRecipes("org.openrewrite.featureflags.launchdarkly.UpgradeLaunchDarkly7");
+    }
+
+    @Benchmark
+    public RecipeRun removeBooleanFlag() {
+        return new RemoveBooleanFlag(BOOL_VARIATION, SyntheticCorpus.featureKey(0), true)
+                .run(sourceSet, new InMemoryExecutionContext());
+    }
+
+    @Benchmark
+    public RecipeRun upgradeLaunchDarkly7() {
+        return upgradeLaunchDarkly7.run(launchDarklySourceSet, new InMemoryExecutionContext());
+    }
+
+    private SyntheticCorpus corpus() {
+        return new SyntheticCorpus()
+                .modules(modules)
+                .classesPerModule(classesPerModule)
+                .evaluationDensity(evaluationDensity)
+                .nestingDepth(2);
+    }
+}
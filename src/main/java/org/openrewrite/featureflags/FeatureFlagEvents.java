@@ -0,0 +1,249 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Java Flight Recorder events for the phases of the feature flag recipes, so that a recording shows
+ * where the time of a slow recipe run goes, per recipe and source file.
+ * <p>
+ * The event types are defined through {@code jdk.jfr.EventFactory} by reflection, as this module also runs on Java 8.
+ * When Flight Recorder is not available, or not recording an event type, a span is a shared no-op.
+ * Whether an event type is recorded is checked at most once a second rather than for every span,
+ * so a recording that starts or stops while recipes run takes effect within a second.
+ * Ending a span also adds its count to the {@link RecipeCosts} of the source file, when those are collected.
+ */
+public final class FeatureFlagEvents {
+
+    public enum Phase {
+        MATCHING("Matching", "Traversal of a source file, with the number of matched invocations"),
+        KEY_RESOLUTION("Key Resolution", "Resolution of a feature key argument to a constant value"),
+        DATAFLOW("Dataflow", "Dataflow analysis from a feature key to an evaluation"),
+        CLEANUP("Cleanup", "A cleanup visitor queued after a replacement");
+
+        private final String label;
+        private final String description;
+
+        @Nullable
+        private EventType eventType;
+
+        Phase(String label, String description) {
+            this.label = label;
+            this.description = description;
+        }
+    }
+
+    private static final Span NOOP = new Span(null, null, null);
+
+    private FeatureFlagEvents() {
+    }
+
+    /**
+     * Begins a span, which has to be ended by {@link Span#end(String, Cursor, int)}
+     * or {@link Span#end(String, String, int)} for the event to be committed.
+     */
+    public static Span begin(Phase phase) {
+        int[] costs = RecipeCosts.counters();
+        EventType eventType = EventType.of(phase);
+        Object event = eventType == null || !eventType.isEnabled() ? null : eventType.begin();
+        return event == null && costs == null ? NOOP : new Span(phase, event, costs);
+    }
+
+    /**
+     * Records a {@link Phase#CLEANUP} event for every source file the given visitor visits.
+     */
+    public static TreeVisitor<?, ExecutionContext> timed(String recipe, TreeVisitor<?, ExecutionContext> visitor) {
+        RecipeCosts.count(Phase.CLEANUP, 1);
+        if (EventType.of(Phase.CLEANUP) == null) {
+            return visitor;
+        }
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+                return visitor.isAcceptable(sourceFile, ctx);
+            }
+
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                EventType eventType = EventType.of(Phase.CLEANUP);
+                Object event = eventType == null || !eventType.isEnabled() ? null : eventType.begin();
+                Tree t = visitor.visit(tree, ctx);
+                if (event != null) {
+                    EventType.commit(event, recipe, tree instanceof SourceFile ? ((SourceFile) tree).getSourcePath().toString() : "", 1);
+                }
+                return t;
+            }
+        };
+    }
+
+    public static final class Span {
+        @Nullable
+        private final Phase phase;
+
+        @Nullable
+        private final Object event;
+
+        private final int @Nullable [] costs;
+
+        private Span(@Nullable Phase phase, @Nullable Object event, int @Nullable [] costs) {
+            this.phase = phase;
+            this.event = event;
+            this.costs = costs;
+        }
+
+        public void end(String recipe, Cursor cursor, int count) {
+            if (event != null) {
+                SourceFile sourceFile = cursor.firstEnclosing(SourceFile.class);
+                end(recipe, sourceFile == null ? "" : sourceFile.getSourcePath().toString(), count);
+            } else {
+                end(recipe, "", count);
+            }
+        }
+
+        public void end(String recipe, String sourcePath, int count) {
+            if (costs != null && phase != null) {
+                costs[phase.ordinal()] += count;
+            }
+            if (event != null) {
+                EventType.commit(event, recipe, sourcePath, count);
+            }
+        }
+    }
+
+    private static final class EventType {
+        private static final boolean AVAILABLE;
+        private static @Nullable Method newEventMethod;
+        private static @Nullable Method isEnabledMethod;
+        private static @Nullable Method beginMethod;
+        private static @Nullable Method endMethod;
+        private static @Nullable Method shouldCommitMethod;
+        private static @Nullable Method setMethod;
+        private static @Nullable Method commitMethod;
+
+        static {
+            boolean available;
+            try {
+                Class<?> eventFactory = Class.forName("jdk.jfr.EventFactory");
+                Class<?> event = Class.forName("jdk.jfr.Event");
+                newEventMethod = eventFactory.getMethod("newEvent");
+                isEnabledMethod = Class.forName("jdk.jfr.EventType").getMethod("isEnabled");
+                beginMethod = event.getMethod("begin");
+                endMethod = event.getMethod("end");
+                shouldCommitMethod = event.getMethod("shouldCommit");
+                setMethod = event.getMethod("set", int.class, Object.class);
+                commitMethod = event.getMethod("commit");
+
+                Constructor<?> annotation = Class.forName("jdk.jfr.AnnotationElement").getConstructor(Class.class, Object.class);
+                Constructor<?> field = Class.forName("jdk.jfr.ValueDescriptor").getConstructor(Class.class, String.class);
+                Method create = eventFactory.getMethod("create", List.class, List.class);
+                Method getEventType = eventFactory.getMethod("getEventType");
+                List<Object> fields = asList(
+                        field.newInstance(String.class, "recipe"),
+                        field.newInstance(String.class, "sourcePath"),
+                        field.newInstance(int.class, "count"));
+                for (Phase phase : Phase.values()) {
+                    List<Object> annotations = new ArrayList<>();
+                    annotations.add(annotation.newInstance(Class.forName("jdk.jfr.Name"), "org.openrewrite.featureflags." + phase.label.replace(" ", "")));
+                    annotations.add(annotation.newInstance(Class.forName("jdk.jfr.Label"), "Feature Flag " + phase.label));
+                    annotations.add(annotation.newInstance(Class.forName("jdk.jfr.Description"), phase.description));
+                    annotations.add(annotation.newInstance(Class.forName("jdk.jfr.Category"), new String[]{"OpenRewrite", "Feature Flags"}));
+                    Object factory = create.invoke(null, annotations, fields);
+                    phase.eventType = new EventType(factory, getEventType.invoke(factory));
+                }
+                available = true;
+            } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+                available = false;
+            }
+            AVAILABLE = available;
+        }
+
+        private static final long REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+        private final Object factory;
+        private final Object type;
+
+        private volatile boolean enabled;
+        private volatile long refreshedAt;
+
+        private EventType(Object factory, Object type) {
+            this.factory = factory;
+            this.type = type;
+            this.enabled = checkEnabled();
+            this.refreshedAt = System.nanoTime();
+        }
+
+        static @Nullable EventType of(Phase phase) {
+            return AVAILABLE ? phase.eventType : null;
+        }
+
+        boolean isEnabled() {
+            long now = System.nanoTime();
+            if (now - refreshedAt >= REFRESH_NANOS) {
+                // Racing threads both check, which is harmless
+                enabled = checkEnabled();
+                refreshedAt = now;
+            }
+            return enabled;
+        }
+
+        private boolean checkEnabled() {
+            try {
+                return (Boolean) isEnabledMethod.invoke(type);
+            } catch (ReflectiveOperationException e) {
+                return false;
+            }
+        }
+
+        @Nullable
+        Object begin() {
+            try {
+                Object event = newEventMethod.invoke(factory);
+                beginMethod.invoke(event);
+                return event;
+            } catch (ReflectiveOperationException e) {
+                return null;
+            }
+        }
+
+        static void commit(Object event, String recipe, String sourcePath, int count) {
+            try {
+                endMethod.invoke(event);
+                if ((Boolean) shouldCommitMethod.invoke(event)) {
+                    setMethod.invoke(event, 0, recipe);
+                    setMethod.invoke(event, 1, sourcePath);
+                    setMethod.invoke(event, 2, count);
+                    commitMethod.invoke(event);
+                }
+            } catch (ReflectiveOperationException ignored) {
+                // Flight Recorder is best effort
+            }
+        }
+    }
+}
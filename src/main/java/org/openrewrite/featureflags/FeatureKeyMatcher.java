@@ -0,0 +1,307 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags;
+
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.analysis.InvocationMatcher;
+import org.openrewrite.analysis.constantfold.ConstantFold;
+import org.openrewrite.analysis.util.CursorUtil;
+import org.openrewrite.featureflags.FeatureFlagEvents.Phase;
+import org.openrewrite.featureflags.FeatureFlagEvents.Span;
+import org.openrewrite.featureflags.search.DataflowBudget;
+import org.openrewrite.featureflags.table.DataflowBudgetExceeded;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Resolves the feature key argument of an evaluation in tiers, from cheapest to most expensive,
+ * as most call sites pass the key as a literal and only few need constant folding.
+ * Only a matcher of the search recipes, created with the evaluations and a {@link DataflowBudget},
+ * falls back to the dataflow analysis of the key into the argument.
+ * <p>
+ * A matcher caches the constants of the source file it last resolved a key in,
+ * so it is meant to be created per visitor rather than shared between threads.
+ */
+public final class FeatureKeyMatcher {
+
+    public enum Tier {
+        /**
+         * The argument is a literal, compared without any cursor work.
+         */
+        LITERAL,
+
+        /**
+         * The argument refers to a final field or variable of the source file that is initialized with a literal.
+         */
+        CONSTANT,
+
+        /**
+         * The argument was folded into a constant value by {@link ConstantFold}.
+         */
+        CONSTANT_FOLD,
+
+        /**
+         * The key flows into the argument, as found by the dataflow analysis of the search recipes.
+         */
+        DATAFLOW
+    }
+
+    @Value
+    public static class Resolution {
+        String featureKey;
+        Tier tier;
+    }
+
+    /**
+     * How an expression within the feature key argument of an evaluation matched the feature key.
+     */
+    public enum FlowMatch {
+        /**
+         * The expression is the feature key, or the key flows from it into the argument.
+         */
+        FOUND,
+
+        /**
+         * Only the dataflow analysis could have matched the expression, which was skipped
+         * as the dataflow budget of the source file was exceeded.
+         */
+        APPROXIMATE
+    }
+
+    @Nullable
+    private final InvocationMatcher evaluations;
+
+    @Nullable
+    private final DataflowBudget budget;
+
+    @Nullable
+    private JavaSourceFile constantsOf;
+
+    private Map<String, String> constants = new HashMap<>();
+
+    public FeatureKeyMatcher() {
+        this.evaluations = null;
+        this.budget = null;
+    }
+
+    /**
+     * @param evaluations The evaluations whose first argument the key may flow into.
+     * @param budget      Limits the time spent on dataflow analysis in a single source file.
+     */
+    public FeatureKeyMatcher(MethodMatcher evaluations, DataflowBudget budget) {
+        this.evaluations = InvocationMatcher.fromMethodMatcher(evaluations);
+        this.budget = budget;
+    }
+
+    /**
+     * @param cursor   A cursor on the evaluation or one of its ancestors, from which the argument can be found.
+     * @param argument The feature key argument of the evaluation.
+     * @return The feature key and the tier that resolved it, or {@code null} when it is not a constant.
+     */
+    public @Nullable Resolution resolve(Cursor cursor, Expression argument, ExecutionContext ctx) {
+        if (argument instanceof J.Literal) {
+            Object value = ((J.Literal) argument).getValue();
+            return value instanceof String ? resolved((String) value, Tier.LITERAL) : null;
+        }
+        String signature = FeatureKeyMethods.signature(FeatureKeyMethods.variable(argument));
+        if (signature != null) {
+            String value = constants(cursor).get(signature);
+            if (value != null) {
+                return resolved(value, Tier.CONSTANT);
+            }
+        }
+        String folded = fold(cursor, argument);
+        return folded == null ? null : resolved(folded, Tier.CONSTANT_FOLD);
+    }
+
+    /**
+     * Folds concatenations of literals and constants, which {@link ConstantFold} leaves alone,
+     * and otherwise asks {@link ConstantFold} for the constant value of the expression.
+     */
+    private @Nullable String fold(Cursor cursor, Expression expression) {
+        if (expression instanceof J.Literal) {
+            Object value = ((J.Literal) expression).getValue();
+            return value instanceof String || value instanceof Number || value instanceof Character || value instanceof Boolean ?
+                    String.valueOf(value) : null;
+        }
+        if (expression instanceof J.Parentheses) {
+            J tree = ((J.Parentheses<?>) expression).getTree();
+            return tree instanceof Expression ? fold(cursor, (Expression) tree) : null;
+        }
+        if (expression instanceof J.Binary) {
+            J.Binary binary = (J.Binary) expression;
+            if (binary.getOperator() != J.Binary.Type.Addition || !TypeUtils.isString(binary.getType())) {
+                return null;
+            }
+            String left = fold(cursor, binary.getLeft());
+            String right = left == null ? null : fold(cursor, binary.getRight());
+            return right == null ? null : left + right;
+        }
+        String signature = FeatureKeyMethods.signature(FeatureKeyMethods.variable(expression));
+        if (signature != null) {
+            String value = constants(cursor).get(signature);
+            if (value != null) {
+                return value;
+            }
+        }
+        return CursorUtil.findCursorForTree(cursor, expression)
+                .bind(c -> ConstantFold.findConstantLiteralValue(c, String.class))
+                .orSome((String) null);
+    }
+
+    /**
+     * @return The tier that resolved the argument to the feature key, or {@code null} when it is another key.
+     */
+    public @Nullable Tier match(Cursor cursor, Expression argument, String featureKey, ExecutionContext ctx) {
+        Resolution resolution = resolve(cursor, argument, ctx);
+        return resolution != null && featureKey.equals(resolution.getFeatureKey()) ? resolution.getTier() : null;
+    }
+
+    /**
+     * Matches an expression of the feature key argument of an evaluation against the feature key.
+     * The argument itself is resolved by the cheaper tiers where possible, and only the expressions
+     * within it that are left are analyzed for the dataflow of the key into the argument.
+     *
+     * @param cursor     A cursor on the expression.
+     * @param evaluation The evaluation enclosing the expression.
+     * @return How the expression matched, or {@code null} when it is not part of the argument or another key.
+     */
+    public @Nullable FlowMatch matchFlow(Cursor cursor, J.MethodInvocation evaluation, String featureKey,
+                                         Recipe recipe, ExecutionContext ctx) {
+        Expression expression = cursor.getValue();
+        Expression firstArgument = evaluation.getArguments().get(0);
+        if (expression == firstArgument) {
+            Resolution resolution = resolve(cursor.dropParentUntil(v -> v == evaluation), expression, ctx);
+            if (resolution != null) {
+                return featureKey.equals(resolution.getFeatureKey()) ? FlowMatch.FOUND : null;
+            }
+        } else if (!isWithin(cursor, firstArgument, evaluation)) {
+            return null;
+        }
+        if (expression instanceof J.Literal && !featureKey.equals(((J.Literal) expression).getValue())) {
+            return null;
+        }
+        return findFeatureKeyFlow(cursor, featureKey, recipe, ctx);
+    }
+
+    /**
+     * Starts the dataflow budget over for a source file, and records the source file in the data table
+     * when its visit exceeded the budget.
+     */
+    public <T> T withDataflowBudget(JavaSourceFile sourceFile, Recipe recipe, DataflowBudgetExceeded dataflowBudgetExceeded,
+                                    ExecutionContext ctx, Supplier<T> visit) {
+        if (budget == null) {
+            return visit.get();
+        }
+        budget.reset();
+        T t = visit.get();
+        if (budget.isExceeded()) {
+            dataflowBudgetExceeded.insertRow(ctx, new DataflowBudgetExceeded.Row(
+                    recipe.getName(),
+                    sourceFile.getSourcePath().toString(),
+                    budget.getBudgetMillis(),
+                    budget.getSpentMillis()));
+        }
+        return t;
+    }
+
+    private static boolean isWithin(Cursor cursor, Expression firstArgument, J.MethodInvocation evaluation) {
+        for (Cursor c = cursor; c.getValue() != evaluation; c = c.getParentOrThrow()) {
+            if (c.getValue() == firstArgument) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private @Nullable FlowMatch findFeatureKeyFlow(Cursor cursor, String featureKey, Recipe recipe, ExecutionContext ctx) {
+        if (evaluations == null || budget == null) {
+            return null;
+        }
+        if (budget.isExceeded()) {
+            return FlowMatch.APPROXIMATE;
+        }
+        InvocationMatcher matcher = evaluations;
+        Span span = FeatureFlagEvents.begin(Phase.DATAFLOW);
+        boolean found = budget.findSinks(cursor,
+                srcNode -> ConstantFold.findConstantLiteralValue(srcNode, String.class)
+                        .map(featureKey::equals)
+                        .orSome(false),
+                sinkNode -> matcher.advanced().isFirstParameter(sinkNode.getCursor()));
+        span.end(recipe.getName(), cursor, 1);
+        if (found) {
+            RecipeCosts.count(Tier.DATAFLOW, 1);
+            return FlowMatch.FOUND;
+        }
+        // The budget may have run out during this very analysis
+        return budget.isExceeded() ? FlowMatch.APPROXIMATE : null;
+    }
+
+    private static Resolution resolved(String featureKey, Tier tier) {
+        RecipeCosts.count(tier, 1);
+        return new Resolution(featureKey, tier);
+    }
+
+    private Map<String, String> constants(Cursor cursor) {
+        JavaSourceFile sourceFile = cursor.firstEnclosing(JavaSourceFile.class);
+        if (sourceFile == null) {
+            return constants;
+        }
+        if (sourceFile != constantsOf) {
+            Map<String, String> found = new HashMap<>();
+            Set<String> declared = new HashSet<>();
+            Set<String> ambiguous = new HashSet<>();
+            new JavaIsoVisitor<Map<String, String>>() {
+                @Override
+                public J.VariableDeclarations visitVariableDeclarations(J.VariableDeclarations multiVariable, Map<String, String> found) {
+                    for (J.VariableDeclarations.NamedVariable variable : multiVariable.getVariables()) {
+                        String signature = FeatureKeyMethods.signature(variable.getVariableType());
+                        if (signature == null) {
+                            continue;
+                        }
+                        if (!declared.add(signature)) {
+                            // Same named locals in sibling blocks of a method share a signature, final or not
+                            ambiguous.add(signature);
+                        }
+                        if (multiVariable.hasModifier(J.Modifier.Type.Final) && variable.getInitializer() instanceof J.Literal &&
+                            ((J.Literal) variable.getInitializer()).getValue() instanceof String) {
+                            found.put(signature, (String) ((J.Literal) variable.getInitializer()).getValue());
+                        }
+                    }
+                    return super.visitVariableDeclarations(multiVariable, found);
+                }
+            }.visit(sourceFile, found);
+            found.keySet().removeAll(ambiguous);
+            constantsOf = sourceFile;
+            constants = found;
+        }
+        return constants;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Preconditions;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * The evaluation methods of the supported feature flag SDKs that take the feature key as their first argument.
+ */
+public final class FeatureKeyMethods {
+
+    public static final List<String> METHOD_PATTERNS = unmodifiableList(asList(
+            "com.launchdarkly.sdk.server.LDClient *Variation*(String, ..)",
+            "dev.openfeature.sdk.Features get*(String, ..)",
+            "io.getunleash.Unleash isEnabled(String, ..)",
+            "io.getunleash.Unleash getVariant(String, ..)",
+            "org.ff4j.FF4j check(String, ..)",
+            "org.ff4j.FF4j getFeature(String)",
+            "io.quarkiverse.flags.Flags *(String)"));
+
+    private FeatureKeyMethods() {
+    }
+
+    /**
+     * @param methodPattern A single method pattern, or {@code null} for all {@link #METHOD_PATTERNS}.
+     */
+    public static List<MethodMatcher> matchers(@Nullable String methodPattern) {
+        List<MethodMatcher> matchers = new ArrayList<>();
+        for (String pattern : methodPattern == null ? METHOD_PATTERNS : singletonList(methodPattern)) {
+            matchers.add(new MethodMatcher(pattern, true));
+        }
+        return matchers;
+    }
+
+    public static boolean matches(List<MethodMatcher> matchers, @Nullable Expression expression) {
+        for (MethodMatcher matcher : matchers) {
+            if (matcher.matches(expression)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static TreeVisitor<?, ExecutionContext> usesAny(List<MethodMatcher> matchers) {
+        List<TreeVisitor<?, ExecutionContext>> usesMethods = new ArrayList<>(matchers.size());
+        for (MethodMatcher matcher : matchers) {
+            usesMethods.add(new UsesMethod<>(matcher));
+        }
+        return Preconditions.or(usesMethods.toArray(new TreeVisitor[0]));
+    }
+
+    /**
+     * @return The field or local variable a feature key argument refers to, if it is an identifier or field access.
+     */
+    public static JavaType.@Nullable Variable variable(Expression argument) {
+        if (argument instanceof J.Identifier) {
+            return ((J.Identifier) argument).getFieldType();
+        }
+        if (argument instanceof J.FieldAccess) {
+            return ((J.FieldAccess) argument).getName().getFieldType();
+        }
+        return null;
+    }
+
+    /**
+     * @return The Java source of a string literal with the given value, with quotes, backslashes
+     * and control characters escaped.
+     */
+    public static String quote(String value) {
+        StringBuilder source = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    source.append("\\\"");
+                    break;
+                case '\\':
+                    source.append("\\\\");
+                    break;
+                case '\n':
+                    source.append("\\n");
+                    break;
+                case '\r':
+                    source.append("\\r");
+                    break;
+                case '\t':
+                    source.append("\\t");
+                    break;
+                case '\b':
+                    source.append("\\b");
+                    break;
+                case '\f':
+                    source.append("\\f");
+                    break;
+                default:
+                    if (c < ' ' || c == '\u007f') {
+                        source.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        source.append(c);
+                    }
+            }
+        }
+        return source.append('"').toString();
+    }
+
+    /**
+     * @return A signature that identifies the field or local variable across source files,
+     * or {@code null} when the variable type is missing.
+     */
+    public static @Nullable String signature(JavaType.@Nullable Variable variable) {
+        if (variable == null) {
+            return null;
+        }
+        JavaType owner = variable.getOwner();
+        if (owner instanceof JavaType.FullyQualified) {
+            return ((JavaType.FullyQualified) owner).getFullyQualifiedName() + "#" + variable.getName();
+        }
+        if (owner instanceof JavaType.Method) {
+            // The parameter types tell apart the local variables of overloads
+            return signature((JavaType.Method) owner) + "#" + variable.getName();
+        }
+        return null;
+    }
+
+    /**
+     * @return A signature that identifies the method or constructor across source files,
+     * or {@code null} when the method type is missing.
+     */
+    public static @Nullable String signature(JavaType.@Nullable Method method) {
+        if (method == null) {
+            return null;
+        }
+        StringJoiner parameterTypes = new StringJoiner(",", "(", ")");
+        for (JavaType parameterType : method.getParameterTypes()) {
+            parameterTypes.add(TypeUtils.toString(parameterType));
+        }
+        return method.getDeclaringType().getFullyQualifiedName() + "#" + method.getName() + parameterTypes;
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.openrewrite.*;
+import org.openrewrite.featureflags.StaticFields.Field;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.tree.*;
+import org.openrewrite.marker.Markers;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Collections.emptyList;
+import static java.util.Objects.requireNonNull;
+import static org.openrewrite.featureflags.StaticFields.canDeclareStaticMembers;
+import static org.openrewrite.featureflags.StaticFields.stub;
+import static org.openrewrite.featureflags.search.FindPerCallClientConstruction.*;
+
+@EqualsAndHashCode(callSuper = false)
+@Value
+public class HoistClientConstruction extends Recipe {
+    private static final String HOLDERS = "HOLDERS";
+
+    String displayName = "Share feature flag clients constructed per call";
+
+    String description = "Move `LDClient`, `Unleash` and `FF4j` clients constructed inside methods into a lazily initialized holder class, " +
+                         "so the client is constructed once rather than on every call. " +
+                         "Only constructions that do not depend on method parameters, local variables, instance state or static fields that are not final are moved.";
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return Preconditions.check(usesClientType(), new JavaVisitor<ExecutionContext>() {
+            @Override
+            public J visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+                if (classDecl.getType() == null || !canDeclareStaticMembers(getCursor())) {
+                    return super.visitClassDeclaration(classDecl, ctx);
+                }
+
+                Map<String, Field> holders = new LinkedHashMap<>();
+                getCursor().putMessage(HOLDERS, holders);
+                J.ClassDeclaration cd = (J.ClassDeclaration) super.visitClassDeclaration(classDecl, ctx);
+                for (Field holder : holders.values()) {
+                    JavaType.FullyQualified clientType = holder.getType();
+                    cd = JavaTemplate.builder("private static final class " + holder.getName() + " {\n" +
+                                              "    static final " + clientType.getClassName() + " INSTANCE = #{any(" + clientType.getFullyQualifiedName() + ")};\n" +
+                                              "}")
+                            .contextSensitive()
+                            .javaParser(JavaParser.fromJavaVersion().dependsOn(stub(clientType)))
+                            .imports(clientType.getFullyQualifiedName())
+                            .build()
+                            .apply(updateCursor(cd), cd.getBody().getCoordinates().lastStatement(), holder.getInitializer());
+                }
+                return cd;
+            }
+
+            @Override
+            public J visitNewClass(J.NewClass newClass, ExecutionContext ctx) {
+                J.NewClass nc = (J.NewClass) super.visitNewClass(newClass, ctx);
+                if (!isClientConstruction(nc) || !isConstructedPerCall(getCursor()) || isClosedAfterUse(getCursor()) ||
+                    dependsOnCallOrInstance(nc)) {
+                    return nc;
+                }
+
+                Cursor classCursor = getCursor().dropParentUntil(v -> v instanceof J.ClassDeclaration ||
+                                                                      v instanceof J.NewClass && ((J.NewClass) v).getBody() != null ||
+                                                                      v instanceof JavaSourceFile);
+                Map<String, Field> holders = classCursor.getMessage(HOLDERS);
+                JavaType.FullyQualified clientType = TypeUtils.asFullyQualified(nc.getType());
+                if (holders == null || clientType == null) {
+                    return nc;
+                }
+
+                String construction = nc.withPrefix(Space.EMPTY).printTrimmed(getCursor().getParentOrThrow());
+                Field holder = holders.computeIfAbsent(construction, k -> new Field(
+                        holderName(classCursor.getValue(), clientType.getClassName() + "Holder", holders.size()), clientType, nc.withPrefix(Space.EMPTY)));
+
+                JavaType.FullyQualified enclosingType = requireNonNull(((J.ClassDeclaration) classCursor.getValue()).getType());
+                JavaType.FullyQualified holderType = JavaType.ShallowClass.build(enclosingType.getFullyQualifiedName() + "$" + holder.getName());
+                JavaType.Variable instanceType = new JavaType.Variable(null, Flag.Static.getBitMask() | Flag.Final.getBitMask(),
+                        "INSTANCE", holderType, clientType, emptyList());
+                return new J.FieldAccess(
+                        Tree.randomId(),
+                        nc.getPrefix(),
+                        Markers.EMPTY,
+                        new J.Identifier(Tree.randomId(), Space.EMPTY, Markers.EMPTY, emptyList(), holder.getName(), holderType, null),
+                        JLeftPadded.build(new J.Identifier(Tree.randomId(), Space.EMPTY, Markers.EMPTY, emptyList(), "INSTANCE", clientType, instanceType)),
+                        clientType);
+            }
+        });
+    }
+
+    private static String holderName(J.ClassDeclaration classDecl, String baseName, int index) {
+        String name = index == 0 ? baseName : baseName + (index + 1);
+        for (Statement statement : classDecl.getBody().getStatements()) {
+            if (statement instanceof J.ClassDeclaration && ((J.ClassDeclaration) statement).getSimpleName().equals(name)) {
+                return holderName(classDecl, baseName, index + 1);
+            }
+        }
+        return name;
+    }
+
+    /**
+     * Whether the construction references method parameters, local variables, instance members or {@code this},
+     * which would no longer be in scope once moved into a static holder class, or static fields that are not final,
+     * of which the holder would freeze the value at first use.
+     */
+    private static boolean dependsOnCallOrInstance(J.NewClass newClass) {
+        AtomicBoolean dependent = new AtomicBoolean();
+        new JavaIsoVisitor<AtomicBoolean>() {
+            @Override
+            public J.Identifier visitIdentifier(J.Identifier identifier, AtomicBoolean found) {
+                JavaType.Variable fieldType = identifier.getFieldType();
+                if ("this".equals(identifier.getSimpleName()) || "super".equals(identifier.getSimpleName()) ||
+                    fieldType != null && !(fieldType.getOwner() instanceof JavaType.FullyQualified && fieldType.hasFlags(Flag.Static, Flag.Final))) {
+                    found.set(true);
+                }
+                return identifier;
+            }
+
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, AtomicBoolean found) {
+                if (method.getSelect() == null && (method.getMethodType() == null || !method.getMethodType().hasFlags(Flag.Static))) {
+                    found.set(true);
+                }
+                return super.visitMethodInvocation(method, found);
+            }
+        }.visit(newClass, dependent);
+        return dependent.get();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.featureflags.FeatureFlagEvents.Phase;
+import org.openrewrite.featureflags.FeatureKeyMatcher.Tier;
+import org.openrewrite.featureflags.table.RecipeCost;
+
+/**
+ * Collects a {@link RecipeCost} row for every source file a feature flag recipe visits in each cycle, so that
+ * the generated files and giant classes that slow a large run down can be found from its data tables.
+ * <p>
+ * Collection is opt-in, by the {@code collectRecipeCosts} option of the recipes that support it.
+ * The counts come from the {@link FeatureFlagEvents} spans the recipes end while visiting the source file.
+ * They are kept per thread rather than in the execution context, which is shared by the threads of a parallel run.
+ */
+public final class RecipeCosts {
+    private static final ThreadLocal<int @Nullable []> COUNTERS = new ThreadLocal<>();
+
+    private RecipeCosts() {
+    }
+
+    /**
+     * Adds to a count of the source file being measured, if any.
+     */
+    public static void count(Phase phase, int count) {
+        int[] counters = COUNTERS.get();
+        if (counters != null) {
+            counters[phase.ordinal()] += count;
+        }
+    }
+
+    /**
+     * Counts a feature key resolved by the given tier of {@link FeatureKeyMatcher}.
+     */
+    public static void count(Tier tier, int count) {
+        int[] counters = COUNTERS.get();
+        if (counters != null) {
+            counters[Phase.values().length + tier.ordinal()] += count;
+        }
+    }
+
+    /**
+     * @return The counts of the source file being measured on this thread, if any.
+     */
+    static int @Nullable [] counters() {
+        return COUNTERS.get();
+    }
+
+    /**
+     * Wraps the visitor of a recipe to insert a {@link RecipeCost} row for every source file it visits,
+     * when the recipe is configured to collect its costs.
+     */
+    public static TreeVisitor<?, ExecutionContext> measure(Recipe recipe, RecipeCost recipeCost, @Nullable Boolean enabled,
+                                                           TreeVisitor<?, ExecutionContext> visitor) {
+        if (!Boolean.TRUE.equals(enabled)) {
+            return visitor;
+        }
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+                return visitor.isAcceptable(sourceFile, ctx);
+            }
+
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (!(tree instanceof SourceFile)) {
+                    return visitor.visit(tree, ctx);
+                }
+                int[] outer = COUNTERS.get();
+                int[] counters = new int[Phase.values().length + Tier.values().length];
+                COUNTERS.set(counters);
+                try {
+                    long start = System.nanoTime();
+                    Tree after = visitor.visit(tree, ctx);
+                    recipeCost.insertRow(ctx, new RecipeCost.Row(
+                            recipe.getName(),
+                            ((SourceFile) tree).getSourcePath().toString(),
+                            ctx.getCycle(),
+                            System.nanoTime() - start,
+                            counters[Phase.MATCHING.ordinal()],
+                            counters[Phase.KEY_RESOLUTION.ordinal()],
+                            counters[Phase.DATAFLOW.ordinal()],
+                            counters[Phase.CLEANUP.ordinal()],
+                            counters[Phase.values().length + Tier.LITERAL.ordinal()],
+                            counters[Phase.values().length + Tier.CONSTANT.ordinal()],
+                            counters[Phase.values().length + Tier.CONSTANT_FOLD.ordinal()],
+                            counters[Phase.values().length + Tier.DATAFLOW.ordinal()],
+                            after != tree));
+                    return after;
+                } finally {
+                    if (outer == null) {
+                        COUNTERS.remove();
+                    } else {
+                        COUNTERS.set(outer);
+                    }
+                }
+            }
+        };
+    }
+}
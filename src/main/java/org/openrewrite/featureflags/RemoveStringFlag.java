@@ -15,18 +15,24 @@
  */
 package org.openrewrite.featureflags;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
-import org.openrewrite.analysis.constantfold.ConstantFold;
-import org.openrewrite.analysis.util.CursorUtil;
+import org.openrewrite.featureflags.FeatureFlagEvents.Phase;
+import org.openrewrite.featureflags.FeatureFlagEvents.Span;
+import org.openrewrite.featureflags.search.FeatureKeyIndex;
+import org.openrewrite.featureflags.search.HasSdkOnClasspath;
+import org.openrewrite.featureflags.search.UsesFeatureKey;
+import org.openrewrite.featureflags.table.RecipeCost;
 import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.SemanticallyEqual;
 import org.openrewrite.java.search.UsesMethod;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
 import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.Space;
 import org.openrewrite.marker.Markers;
@@ -58,13 +64,60 @@ public class RemoveStringFlag extends Recipe {
             example = "topic-456")
     String replacementValue;
 
+    @Option(displayName = "Feature key index",
+            description = "The path of an index written by `IndexFeatureKeys`. When given, only the source files " +
+                          "it lists for the feature key are visited.",
+            example = "build/feature-keys.idx",
+            required = false)
+    @Nullable
+    String featureKeyIndex;
+
+    @Option(displayName = "Collect recipe costs",
+            description = "Collect the work the recipe does on each source file in the `RecipeCost` data table, " +
+                          "to find the source files that slow a large run down.",
+            required = false)
+    @Nullable
+    Boolean collectRecipeCosts;
+
+    transient RecipeCost recipeCost = new RecipeCost(this);
+
+    public RemoveStringFlag(String methodPattern, String featureKey, String replacementValue) {
+        this(methodPattern, featureKey, replacementValue, null, null);
+    }
+
+    @JsonCreator
+    public RemoveStringFlag(String methodPattern, String featureKey, String replacementValue, @Nullable String featureKeyIndex,
+                            @Nullable Boolean collectRecipeCosts) {
+        this.methodPattern = methodPattern;
+        this.featureKey = featureKey;
+        this.replacementValue = replacementValue;
+        this.featureKeyIndex = featureKeyIndex;
+        this.collectRecipeCosts = collectRecipeCosts;
+    }
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         final MethodMatcher methodMatcher = new MethodMatcher(methodPattern, true);
+        String recipeName = getName();
         JavaVisitor<ExecutionContext> visitor = new JavaVisitor<ExecutionContext>() {
+            final FeatureKeyMatcher keyMatcher = new FeatureKeyMatcher();
+            int matched;
+
+            @Override
+            public @Nullable J visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof JavaSourceFile) {
+                    Span span = FeatureFlagEvents.begin(Phase.MATCHING);
+                    matched = 0;
+                    J j = super.visit(tree, ctx);
+                    span.end(recipeName, ((JavaSourceFile) tree).getSourcePath().toString(), matched);
+                    return j;
+                }
+                return super.visit(tree, ctx);
+            }
+
             @Override
             public @Nullable J visitVariableDeclarations(J.VariableDeclarations multiVariable, ExecutionContext ctx) {
-                if (multiVariable.getVariables().size() == 1 && matches(multiVariable.getVariables().get(0).getInitializer())) {
+                if (multiVariable.getVariables().size() == 1 && matches(multiVariable.getVariables().get(0).getInitializer(), ctx)) {
                     // Remove the variable declaration and inline any references to the variable with the literal value
                     J.Identifier identifierToReplaceWithLiteral = multiVariable.getVariables().get(0).getName();
                     doAfterVisit(new JavaVisitor<ExecutionContext>() {
@@ -85,35 +138,43 @@ public class RemoveStringFlag extends Recipe {
             @Override
             public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
                 J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
-                if (matches(mi)) {
+                if (matches(mi, ctx)) {
                     cleanUpAfterReplacements();
                     return buildLiteral().withPrefix(mi.getPrefix());
                 }
                 return mi;
             }
 
-            private boolean matches(@Nullable Expression expression) {
+            private boolean matches(@Nullable Expression expression, ExecutionContext ctx) {
                 if (methodMatcher.matches(expression)) {
                     Expression firstArgument = ((J.MethodInvocation) expression).getArguments().get(0);
-                    return CursorUtil.findCursorForTree(getCursor(), firstArgument)
-                            .bind(c -> ConstantFold.findConstantLiteralValue(c, String.class))
-                            .map(featureKey::equals)
-                            .orSome(false);
+                    Span span = FeatureFlagEvents.begin(Phase.KEY_RESOLUTION);
+                    boolean matches = keyMatcher.match(getCursor(), firstArgument, featureKey, ctx) != null;
+                    span.end(recipeName, getCursor(), 1);
+                    if (matches) {
+                        matched++;
+                    }
+                    return matches;
                 }
                 return false;
             }
 
             private void cleanUpAfterReplacements() {
-                doAfterVisit(new SimplifyConstantIfBranchExecution().getVisitor());
-                doAfterVisit(Repeat.repeatUntilStable(new RemoveUnusedLocalVariables(null, null, true).getVisitor(), 3));
-                doAfterVisit(new RemoveUnusedPrivateFields().getVisitor());
-                doAfterVisit(new RemoveUnusedPrivateMethods().getVisitor());
+                doAfterVisit(FeatureFlagEvents.timed(recipeName, new SimplifyConstantIfBranchExecution().getVisitor()));
+                doAfterVisit(FeatureFlagEvents.timed(recipeName, Repeat.repeatUntilStable(new RemoveUnusedLocalVariables(null, null, true).getVisitor(), 3)));
+                doAfterVisit(FeatureFlagEvents.timed(recipeName, new RemoveUnusedPrivateFields().getVisitor()));
+                doAfterVisit(FeatureFlagEvents.timed(recipeName, new RemoveUnusedPrivateMethods().getVisitor()));
             }
 
             private J.Literal buildLiteral() {
                 return new J.Literal(Tree.randomId(), Space.SINGLE_SPACE, Markers.EMPTY, replacementValue, '"' + replacementValue + '"', null, JavaType.Primitive.String);
             }
         };
-        return Preconditions.check(new UsesMethod<>(methodMatcher), visitor);
+        return FeatureKeyIndex.restrict(featureKeyIndex, featureKey, RecipeCosts.measure(this, recipeCost, collectRecipeCosts, Preconditions.check(
+                Preconditions.and(
+                        HasSdkOnClasspath.forMethodPattern(methodPattern),
+                        new UsesMethod<>(methodMatcher),
+                        new UsesFeatureKey<>(featureKey)),
+                visitor)));
     }
 }
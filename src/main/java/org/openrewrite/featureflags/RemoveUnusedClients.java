@@ -0,0 +1,424 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.tree.*;
+import org.openrewrite.marker.Markers;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Collections.emptySet;
+import static org.openrewrite.featureflags.FeatureKeyMethods.signature;
+import static org.openrewrite.featureflags.FeatureKeyMethods.variable;
+
+@EqualsAndHashCode(callSuper = false)
+@Value
+public class RemoveUnusedClients extends ScanningRecipe<RemoveUnusedClients.Accumulator> {
+    private static final String REMOVED_FIELDS = "REMOVED_FIELDS";
+
+    private static final List<String> CLIENT_TYPES = Arrays.asList(
+            "com.launchdarkly.sdk.server.interfaces.LDClientInterface",
+            "io.getunleash.Unleash",
+            "org.ff4j.FF4j");
+
+    private static final List<String> SDK_PACKAGES = Arrays.asList(
+            "com.launchdarkly.sdk.",
+            "io.getunleash.",
+            "org.ff4j.");
+
+    /**
+     * Methods that release a client rather than use it.
+     */
+    private static final List<String> LIFECYCLE_METHODS = Arrays.asList("close", "flush", "shutdown");
+
+    private static final List<String> BEAN_ANNOTATIONS = Arrays.asList(
+            "org.springframework.context.annotation.Bean",
+            "io.micronaut.context.annotation.Bean",
+            "javax.enterprise.inject.Produces",
+            "jakarta.enterprise.inject.Produces",
+            "com.google.inject.Provides",
+            "dagger.Provides");
+
+    String displayName = "Remove unused feature flag clients";
+
+    String description = "Remove private `LDClient`, `Unleash` and `FF4j` fields that are no longer read, " +
+                         "and once a client type is not used anywhere in the repository, also the fields, " +
+                         "constructor parameters and bean factory methods that provide it. " +
+                         "Parameters of constructors and methods that are called explicitly are kept, so that their callers still compile. " +
+                         "An unused client still connects to its service and holds its caches once the application starts.";
+
+    public static class Accumulator {
+        final Set<String> usedClientTypes = ConcurrentHashMap.newKeySet();
+
+        /**
+         * The signatures of the constructors and methods with a client parameter that are called explicitly,
+         * rather than by a dependency injector.
+         */
+        final Set<String> invokedMethods = ConcurrentHashMap.newKeySet();
+    }
+
+    @Override
+    public Accumulator getInitialValue(ExecutionContext ctx) {
+        return new Accumulator();
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(Accumulator acc) {
+        // Generated sources are scanned as well, as a client they use is not unused
+        TreeVisitor<?, ExecutionContext> clientUses = Preconditions.check(usesClientType(), new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.Identifier visitIdentifier(J.Identifier identifier, ExecutionContext ctx) {
+                String clientType = clientType(identifier.getType());
+                if (clientType != null && identifier.getFieldType() != null && isUse(getCursor())) {
+                    acc.usedClientTypes.add(clientType);
+                }
+                return super.visitIdentifier(identifier, ctx);
+            }
+
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                if (method.getMethodType() != null && !LIFECYCLE_METHODS.contains(method.getSimpleName())) {
+                    addClientType(method.getMethodType().getDeclaringType());
+                }
+                addClientTypes(method.getArguments());
+                return super.visitMethodInvocation(method, ctx);
+            }
+
+            @Override
+            public J.NewClass visitNewClass(J.NewClass newClass, ExecutionContext ctx) {
+                addClientTypes(newClass.getArguments());
+                return super.visitNewClass(newClass, ctx);
+            }
+
+            private void addClientTypes(List<Expression> arguments) {
+                for (Expression argument : arguments) {
+                    addClientType(argument.getType());
+                }
+            }
+
+            private void addClientType(@Nullable JavaType type) {
+                String clientType = clientType(type);
+                if (clientType != null) {
+                    acc.usedClientTypes.add(clientType);
+                }
+            }
+        });
+
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof JavaSourceFile) {
+                    // The callers of a constructor need not use the client type themselves, as in `new Service(null)`
+                    for (JavaType.Method invoked : ((JavaSourceFile) tree).getTypesInUse().getUsedMethods()) {
+                        if (hasClientParameter(invoked)) {
+                            acc.invokedMethods.add(signature(invoked));
+                        }
+                    }
+                }
+                return clientUses.visit(tree, ctx);
+            }
+        };
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor(Accumulator acc) {
+        return Preconditions.check(usesClientType(), new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
+                getCursor().putMessage(REMOVED_FIELDS, removedFields(cu, acc.usedClientTypes));
+                J.CompilationUnit c = super.visitCompilationUnit(cu, ctx);
+                if (c != cu) {
+                    for (J.Import anImport : c.getImports()) {
+                        String typeName = anImport.getTypeName();
+                        if (!anImport.isStatic() && !"*".equals(anImport.getQualid().getSimpleName()) && isSdkType(typeName)) {
+                            maybeRemoveImport(typeName);
+                        }
+                    }
+                }
+                return c;
+            }
+
+            @Override
+            public J.Block visitBlock(J.Block block, ExecutionContext ctx) {
+                J.Block b = super.visitBlock(block, ctx);
+                Set<String> removedFields = getCursor().getNearestMessage(REMOVED_FIELDS, emptySet());
+                Set<UUID> nonEmptyTries = new HashSet<>();
+                for (Statement statement : block.getStatements()) {
+                    if (statement instanceof J.Try && !((J.Try) statement).getBody().getStatements().isEmpty()) {
+                        nonEmptyTries.add(statement.getId());
+                    }
+                }
+
+                List<Statement> statements = new ArrayList<>(b.getStatements().size());
+                Space removedPrefix = null;
+                for (Statement statement : b.getStatements()) {
+                    if (isRemoved(statement, removedFields, acc.usedClientTypes) ||
+                        isEmptiedTry(statement, nonEmptyTries)) {
+                        if (statements.isEmpty() && removedPrefix == null) {
+                            removedPrefix = statement.getPrefix();
+                        }
+                        continue;
+                    }
+                    if (statements.isEmpty() && removedPrefix != null) {
+                        // The first remaining statement takes the place of the removed ones
+                        statement = statement.withPrefix(statement.getPrefix().withWhitespace(removedPrefix.getWhitespace()));
+                    }
+                    statements.add(statement);
+                }
+                return statements.size() == b.getStatements().size() ? b : b.withStatements(statements);
+            }
+
+            @Override
+            public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+                J.MethodDeclaration m = super.visitMethodDeclaration(method, ctx);
+                JavaType.Method methodType = m.getMethodType();
+                if (methodType == null || !m.isConstructor() && !isBeanFactory(m) ||
+                    // Removing a parameter would break the explicit callers, which pass something else than a client
+                    acc.invokedMethods.contains(signature(methodType))) {
+                    return m;
+                }
+
+                List<Statement> parameters = new ArrayList<>();
+                List<String> parameterNames = new ArrayList<>();
+                List<JavaType> parameterTypes = new ArrayList<>();
+                for (Statement parameter : m.getParameters()) {
+                    if (parameter instanceof J.VariableDeclarations) {
+                        J.VariableDeclarations declaration = (J.VariableDeclarations) parameter;
+                        if (isUnusedParameter(declaration, m.getBody(), acc.usedClientTypes)) {
+                            continue;
+                        }
+                        parameterNames.add(declaration.getVariables().get(0).getSimpleName());
+                        parameterTypes.add(declaration.getType());
+                    }
+                    parameters.add(parameter);
+                }
+                if (parameters.size() == m.getParameters().size()) {
+                    return m;
+                }
+
+                if (parameters.isEmpty()) {
+                    parameters.add(new J.Empty(Tree.randomId(), Space.EMPTY, Markers.EMPTY));
+                } else {
+                    parameters.set(0, parameters.get(0).withPrefix(m.getParameters().get(0).getPrefix()));
+                }
+                methodType = methodType.withParameterNames(parameterNames).withParameterTypes(parameterTypes);
+                return m.withParameters(parameters)
+                        .withMethodType(methodType)
+                        .withName(m.getName().withType(methodType));
+            }
+        });
+    }
+
+    @Override
+    public boolean causesAnotherCycle() {
+        // Dependencies of the SDKs can only be removed once the next cycle no longer finds their types in use
+        return true;
+    }
+
+    public static TreeVisitor<?, ExecutionContext> usesClientType() {
+        return Preconditions.or(
+                new UsesType<>("com.launchdarkly.sdk.server.LDClient", false),
+                new UsesType<>("com.launchdarkly.sdk.server.interfaces.LDClientInterface", false),
+                new UsesType<>("io.getunleash..*", false),
+                new UsesType<>("org.ff4j.FF4j", false));
+    }
+
+    private static @Nullable String clientType(@Nullable JavaType type) {
+        for (String clientType : CLIENT_TYPES) {
+            if (TypeUtils.isAssignableTo(clientType, type)) {
+                return clientType;
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasClientParameter(JavaType.Method method) {
+        for (JavaType parameterType : method.getParameterTypes()) {
+            if (clientType(parameterType) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSdkType(String typeName) {
+        for (String sdkPackage : SDK_PACKAGES) {
+            if (typeName.startsWith(sdkPackage)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param cursor The cursor of a reference to a client variable.
+     * @return Whether the client is read, rather than declared, assigned to another client variable,
+     * returned from a bean factory method or closed.
+     */
+    private static boolean isUse(Cursor cursor) {
+        J expression = cursor.getValue();
+        Cursor parent = cursor.getParentTreeCursor();
+        if (parent.getValue() instanceof J.FieldAccess && ((J.FieldAccess) parent.getValue()).getName() == expression) {
+            expression = parent.getValue();
+            parent = parent.getParentTreeCursor();
+        }
+
+        Object tree = parent.getValue();
+        if (tree instanceof J.VariableDeclarations.NamedVariable) {
+            J.VariableDeclarations.NamedVariable variable = (J.VariableDeclarations.NamedVariable) tree;
+            return variable.getName() != expression && clientType(variable.getType()) == null;
+        }
+        if (tree instanceof J.Assignment) {
+            J.Assignment assignment = (J.Assignment) tree;
+            return assignment.getVariable() != expression && clientType(assignment.getVariable().getType()) == null;
+        }
+        if (tree instanceof J.MethodInvocation) {
+            J.MethodInvocation method = (J.MethodInvocation) tree;
+            return method.getSelect() != expression || !LIFECYCLE_METHODS.contains(method.getSimpleName());
+        }
+        if (tree instanceof J.Return) {
+            J.MethodDeclaration method = parent.firstEnclosing(J.MethodDeclaration.class);
+            return method == null || !isBeanFactory(method);
+        }
+        return true;
+    }
+
+    private static boolean isBeanFactory(J.MethodDeclaration method) {
+        for (J.Annotation annotation : method.getLeadingAnnotations()) {
+            for (String beanAnnotation : BEAN_ANNOTATIONS) {
+                if (TypeUtils.isOfClassType(annotation.getType(), beanAnnotation)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The signatures of the client fields to remove: those of client types that are not used anywhere,
+     * and private fields that are not read in their source file.
+     */
+    private static Set<String> removedFields(J.CompilationUnit cu, Set<String> usedClientTypes) {
+        Set<String> fields = new HashSet<>();
+        Set<String> read = new HashSet<>();
+        new JavaIsoVisitor<Integer>() {
+            @Override
+            public J.VariableDeclarations visitVariableDeclarations(J.VariableDeclarations multiVariable, Integer p) {
+                String clientType = clientType(multiVariable.getType());
+                if (clientType != null) {
+                    J.ClassDeclaration classDecl = getCursor().firstEnclosing(J.ClassDeclaration.class);
+                    boolean removable = !usedClientTypes.contains(clientType) ||
+                                        multiVariable.hasModifier(J.Modifier.Type.Private) &&
+                                        // Lombok generates accessors that read the field
+                                        !hasLombokAnnotation(multiVariable.getLeadingAnnotations()) &&
+                                        (classDecl == null || !hasLombokAnnotation(classDecl.getLeadingAnnotations()));
+                    for (J.VariableDeclarations.NamedVariable variable : multiVariable.getVariables()) {
+                        JavaType.Variable variableType = variable.getVariableType();
+                        String signature = signature(variableType);
+                        if (removable && signature != null && variableType.getOwner() instanceof JavaType.FullyQualified) {
+                            fields.add(signature);
+                        }
+                    }
+                }
+                return super.visitVariableDeclarations(multiVariable, p);
+            }
+
+            @Override
+            public J.Identifier visitIdentifier(J.Identifier identifier, Integer p) {
+                String signature = signature(identifier.getFieldType());
+                if (signature != null && isUse(getCursor())) {
+                    read.add(signature);
+                }
+                return identifier;
+            }
+        }.visit(cu, 0);
+        fields.removeAll(read);
+        return fields;
+    }
+
+    private static boolean hasLombokAnnotation(List<J.Annotation> annotations) {
+        for (J.Annotation annotation : annotations) {
+            JavaType.FullyQualified type = TypeUtils.asFullyQualified(annotation.getType());
+            if (type != null && type.getFullyQualifiedName().startsWith("lombok.")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isRemoved(Statement statement, Set<String> removedFields, Set<String> usedClientTypes) {
+        if (statement instanceof J.VariableDeclarations) {
+            for (J.VariableDeclarations.NamedVariable variable : ((J.VariableDeclarations) statement).getVariables()) {
+                if (!removedFields.contains(signature(variable.getVariableType()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (statement instanceof J.Assignment) {
+            return removedFields.contains(signature(variable(((J.Assignment) statement).getVariable())));
+        }
+        if (statement instanceof J.MethodInvocation) {
+            J.MethodInvocation method = (J.MethodInvocation) statement;
+            return method.getSelect() != null && LIFECYCLE_METHODS.contains(method.getSimpleName()) &&
+                   removedFields.contains(signature(variable(method.getSelect())));
+        }
+        if (statement instanceof J.MethodDeclaration) {
+            J.MethodDeclaration method = (J.MethodDeclaration) statement;
+            String clientType = method.getMethodType() == null ? null : clientType(method.getMethodType().getReturnType());
+            return clientType != null && !usedClientTypes.contains(clientType) && isBeanFactory(method);
+        }
+        return false;
+    }
+
+    /**
+     * A try statement that only closed a removed client, and of which the catch clauses no longer compile.
+     */
+    private static boolean isEmptiedTry(Statement statement, Set<UUID> nonEmptyTries) {
+        if (!(statement instanceof J.Try) || !nonEmptyTries.contains(statement.getId())) {
+            return false;
+        }
+        J.Try tryable = (J.Try) statement;
+        return tryable.getResources() == null && tryable.getFinally() == null && tryable.getBody().getStatements().isEmpty();
+    }
+
+    private static boolean isUnusedParameter(J.VariableDeclarations parameter, J.@Nullable Block body, Set<String> usedClientTypes) {
+        String clientType = clientType(parameter.getType());
+        String signature = signature(parameter.getVariables().get(0).getVariableType());
+        if (clientType == null || usedClientTypes.contains(clientType) || signature == null || body == null) {
+            return false;
+        }
+        AtomicBoolean referenced = new AtomicBoolean();
+        new JavaIsoVisitor<AtomicBoolean>() {
+            @Override
+            public J.Identifier visitIdentifier(J.Identifier identifier, AtomicBoolean found) {
+                if (signature.equals(signature(identifier.getFieldType()))) {
+                    found.set(true);
+                }
+                return identifier;
+            }
+        }.visit(body, referenced);
+        return !referenced.get();
+    }
+}
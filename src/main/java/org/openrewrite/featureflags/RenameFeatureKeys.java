@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.featureflags.search.UsesFeatureKey;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@EqualsAndHashCode(callSuper = false)
+@Value
+public class RenameFeatureKeys extends ScanningRecipe<Set<String>> {
+
+    @Option(displayName = "Feature key renames",
+            description = "The new feature key, by the feature key to rename.",
+            example = "flag-key-123abc: flag-key-456def")
+    Map<String, String> keyRenames;
+
+    @Option(displayName = "Method pattern",
+            description = "A method pattern to match against. The first argument must be the feature key as `String`. " +
+                          "When omitted, the evaluation methods of all supported feature flag SDKs are matched.",
+            example = "dev.openfeature.sdk.Client getBooleanValue(String, Boolean)",
+            required = false)
+    @Nullable
+    String methodPattern;
+
+    String displayName = "Rename feature keys";
+
+    String description = "Rename the feature keys passed to feature flag evaluations, " +
+                         "either as a literal argument or through the constants that hold them, wherever these constants are declared.";
+
+    @Override
+    public Set<String> getInitialValue(ExecutionContext ctx) {
+        return ConcurrentHashMap.newKeySet();
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(Set<String> keyConstants) {
+        List<MethodMatcher> matchers = FeatureKeyMethods.matchers(methodPattern);
+        return Preconditions.check(FeatureKeyMethods.usesAny(matchers), new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation mi = super.visitMethodInvocation(method, ctx);
+                if (FeatureKeyMethods.matches(matchers, mi)) {
+                    Expression key = mi.getArguments().get(0);
+                    String signature = FeatureKeyMethods.signature(FeatureKeyMethods.variable(key));
+                    if (signature != null) {
+                        keyConstants.add(signature);
+                    }
+                }
+                return mi;
+            }
+        });
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor(Set<String> keyConstants) {
+        List<MethodMatcher> matchers = FeatureKeyMethods.matchers(methodPattern);
+        return Preconditions.check(new UsesFeatureKey<>(keyRenames.keySet()), new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation mi = super.visitMethodInvocation(method, ctx);
+                if (FeatureKeyMethods.matches(matchers, mi) && mi.getArguments().get(0) instanceof J.Literal) {
+                    J.Literal renamed = rename((J.Literal) mi.getArguments().get(0));
+                    if (renamed != null) {
+                        return mi.withArguments(ListUtils.mapFirst(mi.getArguments(), a -> renamed));
+                    }
+                }
+                return mi;
+            }
+
+            @Override
+            public J.VariableDeclarations.NamedVariable visitVariable(J.VariableDeclarations.NamedVariable variable, ExecutionContext ctx) {
+                J.VariableDeclarations.NamedVariable v = super.visitVariable(variable, ctx);
+                if (v.getInitializer() instanceof J.Literal && keyConstants.contains(FeatureKeyMethods.signature(v.getVariableType()))) {
+                    J.Literal renamed = rename((J.Literal) v.getInitializer());
+                    if (renamed != null) {
+                        return v.withInitializer(renamed);
+                    }
+                }
+                return v;
+            }
+
+            private J.@Nullable Literal rename(J.Literal literal) {
+                String newKey = literal.getValue() instanceof String ? keyRenames.get((String) literal.getValue()) : null;
+                if (newKey == null) {
+                    return null;
+                }
+                return literal.withValue(newKey).withValueSource(FeatureKeyMethods.quote(newKey));
+            }
+        });
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.java.tree.Comment;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.TextComment;
+import org.openrewrite.marker.SearchResult;
+
+/**
+ * Keeps the feature flag recipes away from generated and vendored sources, which rarely evaluate feature flags
+ * but would otherwise still be scanned by the preconditions and searched by dataflow analysis.
+ * <p>
+ * This is meant as a precondition of a declarative recipe, so that a single entry applies to every recipe
+ * in its recipe list:
+ * <pre>{@code
+ * preconditions:
+ *   - org.openrewrite.featureflags.SourceExclusions:
+ *       excludedPaths: third-party/**
+ *       excludeGenerated: true
+ * }</pre>
+ * Generated sources are the source files under the common generated source roots of Gradle and Maven,
+ * and Java sources whose header says they are generated or whose top level classes are annotated {@code @Generated}.
+ * They are only excluded when asked to.
+ */
+@EqualsAndHashCode(callSuper = false)
+@Value
+public class SourceExclusions extends Recipe {
+    private static final String[] GENERATED_ROOTS = {
+            "/build/generated/",
+            "/build/generated-sources/",
+            "/target/generated-sources/",
+            "/target/generated-test-sources/"
+    };
+
+    @Option(displayName = "Excluded paths",
+            description = "A comma separated list of glob patterns of source paths to leave alone, " +
+                          "such as vendored third party sources.",
+            example = "third-party/**, **/vendor/**",
+            required = false)
+    @Nullable
+    String excludedPaths;
+
+    @Option(displayName = "Exclude generated sources",
+            description = "Also leave alone generated sources. These are the sources under the generated source roots " +
+                          "of Gradle and Maven, and Java sources with a `DO NOT EDIT` header or annotated `@Generated`.",
+            required = false)
+    @Nullable
+    Boolean excludeGenerated;
+
+    String displayName = "Find sources that are not excluded";
+
+    String description = "Marks the source files that are neither under one of the excluded paths nor, when asked to, generated. " +
+                         "Used as a precondition of a declarative recipe, this keeps every recipe in its recipe list " +
+                         "away from vendored and generated sources.";
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof SourceFile && !isExcluded((SourceFile) tree, excludedPaths, excludeGenerated)) {
+                    return SearchResult.found(tree);
+                }
+                return tree;
+            }
+        };
+    }
+
+    /**
+     * @param excludedPaths    A comma separated list of globs of source paths to exclude.
+     * @param excludeGenerated Whether to exclude generated sources as well.
+     */
+    public static boolean isExcluded(SourceFile sourceFile, @Nullable String excludedPaths, @Nullable Boolean excludeGenerated) {
+        if (excludedPaths != null) {
+            for (String glob : excludedPaths.split(",")) {
+                if (!glob.trim().isEmpty() && PathUtils.matchesGlob(sourceFile.getSourcePath(), glob.trim())) {
+                    return true;
+                }
+            }
+        }
+        return Boolean.TRUE.equals(excludeGenerated) && isGenerated(sourceFile);
+    }
+
+    static boolean isGenerated(SourceFile sourceFile) {
+        String path = "/" + PathUtils.separatorsToUnix(sourceFile.getSourcePath().toString());
+        for (String root : GENERATED_ROOTS) {
+            if (path.contains(root)) {
+                return true;
+            }
+        }
+        if (sourceFile instanceof J.CompilationUnit) {
+            J.CompilationUnit cu = (J.CompilationUnit) sourceFile;
+            // Code generators such as protoc document it in the header rather than with an annotation
+            for (Comment comment : cu.getPrefix().getComments()) {
+                if (comment instanceof TextComment && ((TextComment) comment).getText().contains("DO NOT EDIT")) {
+                    return true;
+                }
+            }
+            for (J.ClassDeclaration classDecl : cu.getClasses()) {
+                for (J.Annotation annotation : classDecl.getLeadingAnnotations()) {
+                    // Matched by simple name, as javax, jakarta and protobuf each declare their own
+                    if ("Generated".equals(annotation.getSimpleName())) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
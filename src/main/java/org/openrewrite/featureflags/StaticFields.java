@@ -0,0 +1,191 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags;
+
+import lombok.Value;
+import org.openrewrite.Cursor;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.internal.StringUtils;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.tree.*;
+
+import java.util.*;
+
+/**
+ * Helpers of the recipes that move expressions built from constants out of methods into {@code private static final} fields.
+ */
+public final class StaticFields {
+
+    @Value
+    public static class Field {
+        String name;
+        JavaType.FullyQualified type;
+        Expression initializer;
+    }
+
+    private StaticFields() {
+    }
+
+    /**
+     * Before Java 16 inner and local classes can not declare static members, so only top level and static member classes qualify.
+     *
+     * @param classCursor The cursor of a class declaration.
+     */
+    public static boolean canDeclareStaticMembers(Cursor classCursor) {
+        J.ClassDeclaration classDecl = classCursor.getValue();
+        if (classDecl.getKind() != J.ClassDeclaration.Kind.Type.Class) {
+            return false;
+        }
+        Cursor parent = classCursor.getParentTreeCursor();
+        if (parent.getValue() instanceof JavaSourceFile) {
+            return true;
+        }
+        // A local class is declared in the block of a method or initializer rather than in the body of a class
+        Object enclosing = parent.getValue() instanceof J.Block ? parent.getParentTreeCursor().getValue() : null;
+        return enclosing instanceof J.ClassDeclaration &&
+               (classDecl.hasModifier(J.Modifier.Type.Static) ||
+                ((J.ClassDeclaration) enclosing).getKind() == J.ClassDeclaration.Kind.Type.Interface);
+    }
+
+    /**
+     * @return The base name, or the base name with a number appended when a field of the class
+     * or one of the fields about to be declared already has that name.
+     */
+    public static String fieldName(J.ClassDeclaration classDecl, String baseName, Collection<Field> declared) {
+        List<String> taken = new ArrayList<>();
+        for (Statement statement : classDecl.getBody().getStatements()) {
+            if (statement instanceof J.VariableDeclarations) {
+                for (J.VariableDeclarations.NamedVariable variable : ((J.VariableDeclarations) statement).getVariables()) {
+                    taken.add(variable.getSimpleName());
+                }
+            }
+        }
+        for (Field field : declared) {
+            taken.add(field.getName());
+        }
+        String name = baseName;
+        for (int i = 2; taken.contains(name); i++) {
+            name = baseName + "_" + i;
+        }
+        return name;
+    }
+
+    /**
+     * @return Where to declare a static field with the given initializer: after the last field of the class
+     * the initializer refers to, as a field can not refer to a static field declared after it,
+     * or else as the first statement of the class.
+     */
+    public static JavaCoordinates coordinates(J.ClassDeclaration classDecl, Expression initializer) {
+        Set<String> referenced = new HashSet<>();
+        new JavaIsoVisitor<Set<String>>() {
+            @Override
+            public J.Identifier visitIdentifier(J.Identifier identifier, Set<String> referenced) {
+                JavaType.Variable fieldType = identifier.getFieldType();
+                if (fieldType != null && TypeUtils.isOfType(fieldType.getOwner(), classDecl.getType())) {
+                    referenced.add(fieldType.getName());
+                }
+                return identifier;
+            }
+        }.visit(initializer, referenced);
+
+        Statement last = null;
+        for (Statement statement : classDecl.getBody().getStatements()) {
+            if (statement instanceof J.VariableDeclarations) {
+                for (J.VariableDeclarations.NamedVariable variable : ((J.VariableDeclarations) statement).getVariables()) {
+                    if (referenced.contains(variable.getSimpleName())) {
+                        last = statement;
+                    }
+                }
+            }
+        }
+        return last == null ? classDecl.getBody().getCoordinates().firstStatement() : last.getCoordinates().after();
+    }
+
+    /**
+     * @return The class with a blank line between the declared fields and a method or class that directly follows them.
+     */
+    public static J.ClassDeclaration blankLineAfter(J.ClassDeclaration classDecl, Collection<Field> declared) {
+        Set<String> names = new HashSet<>();
+        for (Field field : declared) {
+            names.add(field.getName());
+        }
+        List<Statement> statements = classDecl.getBody().getStatements();
+        for (int i = 1; i < statements.size(); i++) {
+            Statement previous = statements.get(i - 1);
+            Statement statement = statements.get(i);
+            if (previous instanceof J.VariableDeclarations && !(statement instanceof J.VariableDeclarations) &&
+                names.contains(((J.VariableDeclarations) previous).getVariables().get(0).getSimpleName()) &&
+                StringUtils.countOccurrences(statement.getPrefix().getWhitespace(), "\n") < 2) {
+                Statement separated = statement.withPrefix(statement.getPrefix().withWhitespace("\n" + statement.getPrefix().getWhitespace()));
+                return classDecl.withBody(classDecl.getBody().withStatements(ListUtils.map(statements, s -> s == statement ? separated : s)));
+            }
+        }
+        return classDecl;
+    }
+
+    /**
+     * A stub of a type to parse templates that declare fields of that type against, when the type is not on the classpath of the recipe.
+     */
+    public static String stub(JavaType.FullyQualified type) {
+        return "package " + type.getPackageName() + ";\n" +
+               "public " + (type.getKind() == JavaType.FullyQualified.Kind.Interface ? "interface " : "class ") + type.getClassName() + " {}";
+    }
+
+    /**
+     * @param factories The methods and constructors that build a constant value from constant arguments.
+     */
+    public static boolean areConstant(List<Expression> expressions, List<MethodMatcher> factories) {
+        for (Expression expression : expressions) {
+            if (!isConstant(expression, factories)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param factories The methods and constructors that build a constant value from constant arguments.
+     */
+    public static boolean isConstant(Expression expression, List<MethodMatcher> factories) {
+        if (expression instanceof J.Empty || expression instanceof J.Literal) {
+            return true;
+        }
+        if (expression instanceof J.Identifier) {
+            JavaType.Variable fieldType = ((J.Identifier) expression).getFieldType();
+            return fieldType != null && fieldType.hasFlags(Flag.Static, Flag.Final);
+        }
+        if (expression instanceof J.FieldAccess) {
+            JavaType.Variable fieldType = ((J.FieldAccess) expression).getName().getFieldType();
+            return fieldType != null && fieldType.hasFlags(Flag.Static, Flag.Final);
+        }
+        if (expression instanceof J.Binary) {
+            return isConstant(((J.Binary) expression).getLeft(), factories) &&
+                   isConstant(((J.Binary) expression).getRight(), factories);
+        }
+        if (expression instanceof J.MethodInvocation || expression instanceof J.NewClass) {
+            if (expression instanceof J.NewClass && ((J.NewClass) expression).getBody() != null) {
+                return false;
+            }
+            for (MethodMatcher factory : factories) {
+                if (factory.matches(expression)) {
+                    return areConstant(((MethodCall) expression).getArguments(), factories);
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.tree.*;
+import org.openrewrite.marker.Markers;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+
+@EqualsAndHashCode(callSuper = false)
+@Value
+public class UseSingleFlagEvaluation extends Recipe {
+    private static final MethodMatcher LD_ALL_FLAGS_STATE = new MethodMatcher("com.launchdarkly.sdk.server.interfaces.LDClientInterface allFlagsState(..)", true);
+    private static final MethodMatcher LD_GET_FLAG_VALUE = new MethodMatcher("com.launchdarkly.sdk.server.FeatureFlagsState getFlagValue(String)");
+    private static final MethodMatcher LD_VALUE_CONVERSION = new MethodMatcher("com.launchdarkly.sdk.LDValue *Value()");
+
+    private static final MethodMatcher UNLEASH_MORE = new MethodMatcher("io.getunleash.Unleash more()", true);
+    private static final MethodMatcher UNLEASH_EVALUATE_ALL_TOGGLES = new MethodMatcher("io.getunleash.MoreOperations evaluateAllToggles(..)", true);
+    private static final MethodMatcher UNLEASH_TOGGLE_NAME = new MethodMatcher("io.getunleash.EvaluatedToggle getName()");
+    private static final MethodMatcher UNLEASH_TOGGLE_ENABLED = new MethodMatcher("io.getunleash.EvaluatedToggle isEnabled()");
+    private static final MethodMatcher COLLECTION_STREAM = new MethodMatcher("java.util.Collection stream()", true);
+    private static final MethodMatcher STREAM_FILTER = new MethodMatcher("java.util.stream.Stream filter(..)");
+    private static final MethodMatcher STREAM_FIND = new MethodMatcher("java.util.stream.Stream find*()");
+    private static final MethodMatcher OPTIONAL_MAP = new MethodMatcher("java.util.Optional map(..)");
+    private static final MethodMatcher OPTIONAL_OR_ELSE = new MethodMatcher("java.util.Optional orElse(..)");
+    private static final MethodMatcher STRING_EQUALS = new MethodMatcher("java.lang.String equals(Object)");
+
+    private static final MethodMatcher FF4J_GET_FEATURES = new MethodMatcher("org.ff4j.FF4j getFeatures()", true);
+    private static final MethodMatcher MAP_GET = new MethodMatcher("java.util.Map get(..)", true);
+    private static final MethodMatcher FF4J_FEATURE_IS_ENABLE = new MethodMatcher("org.ff4j.core.Feature isEnable()");
+
+    String displayName = "Evaluate a single feature flag instead of all flags";
+
+    String description = "Replace chains that fetch or evaluate every feature flag only to read a single one, " +
+                         "such as LaunchDarkly's `allFlagsState(context).getFlagValue(key)`, Unleash's `more().evaluateAllToggles()` filtered by name, " +
+                         "and FF4j's `getFeatures().get(key)`, with the single flag lookup of the same SDK.";
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        JavaVisitor<ExecutionContext> visitor = new JavaVisitor<ExecutionContext>() {
+            @Override
+            public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
+                J.MethodInvocation replacement = launchDarklyVariation(mi);
+                if (replacement == null) {
+                    replacement = unleashIsEnabled(mi);
+                }
+                if (replacement == null) {
+                    replacement = ff4jGetFeature(mi);
+                }
+                return replacement == null ? mi : replacement;
+            }
+
+            /**
+             * {@code client.allFlagsState(context).getFlagValue(key).booleanValue()} to {@code client.boolVariation(key, context, false)}.
+             * The defaults match what the {@code LDValue} conversions return for a missing flag.
+             */
+            private J.@Nullable MethodInvocation launchDarklyVariation(J.MethodInvocation mi) {
+                if (!LD_VALUE_CONVERSION.matches(mi) || !LD_GET_FLAG_VALUE.matches(mi.getSelect())) {
+                    return null;
+                }
+                J.MethodInvocation getFlagValue = (J.MethodInvocation) mi.getSelect();
+                if (!LD_ALL_FLAGS_STATE.matches(getFlagValue.getSelect())) {
+                    return null;
+                }
+                J.MethodInvocation allFlagsState = (J.MethodInvocation) getFlagValue.getSelect();
+                if (allFlagsState.getArguments().size() != 1) {
+                    return null; // `FlagsStateOption`s have no single flag equivalent
+                }
+
+                String variation;
+                J.Literal defaultValue;
+                switch (mi.getSimpleName()) {
+                    case "booleanValue":
+                        variation = "boolVariation";
+                        defaultValue = literal(false, "false", JavaType.Primitive.Boolean);
+                        break;
+                    case "intValue":
+                        variation = "intVariation";
+                        defaultValue = literal(0, "0", JavaType.Primitive.Int);
+                        break;
+                    case "doubleValue":
+                        variation = "doubleVariation";
+                        defaultValue = literal(0.0, "0.0", JavaType.Primitive.Double);
+                        break;
+                    case "stringValue":
+                        variation = "stringVariation";
+                        defaultValue = literal(null, "null", JavaType.Primitive.Null);
+                        break;
+                    default:
+                        return null;
+                }
+                JavaType.Method variationType = findVariation(allFlagsState.getMethodType(), variation);
+                if (variationType == null) {
+                    return null;
+                }
+                return rename(allFlagsState, variationType, Arrays.asList(
+                        getFlagValue.getArguments().get(0).withPrefix(Space.EMPTY),
+                        allFlagsState.getArguments().get(0).withPrefix(Space.SINGLE_SPACE),
+                        defaultValue))
+                        .withPrefix(mi.getPrefix());
+            }
+
+            /**
+             * {@code unleash.more().evaluateAllToggles(context).stream().filter(t -> t.getName().equals(key)).findFirst().map(EvaluatedToggle::isEnabled).orElse(false)}
+             * to {@code unleash.isEnabled(key, context)}.
+             */
+            private J.@Nullable MethodInvocation unleashIsEnabled(J.MethodInvocation mi) {
+                if (!OPTIONAL_OR_ELSE.matches(mi) || !isFalse(mi.getArguments().get(0)) ||
+                    !OPTIONAL_MAP.matches(mi.getSelect())) {
+                    return null;
+                }
+                J.MethodInvocation map = (J.MethodInvocation) mi.getSelect();
+                if (!isToggleEnabled(map.getArguments().get(0)) || !STREAM_FIND.matches(map.getSelect())) {
+                    return null;
+                }
+                J.MethodInvocation find = (J.MethodInvocation) map.getSelect();
+                if (!STREAM_FILTER.matches(find.getSelect())) {
+                    return null;
+                }
+                J.MethodInvocation filter = (J.MethodInvocation) find.getSelect();
+                Expression key = toggleNameKey(filter.getArguments().get(0));
+                if (key == null || !COLLECTION_STREAM.matches(filter.getSelect())) {
+                    return null;
+                }
+                J.MethodInvocation stream = (J.MethodInvocation) filter.getSelect();
+                if (!UNLEASH_EVALUATE_ALL_TOGGLES.matches(stream.getSelect())) {
+                    return null;
+                }
+                J.MethodInvocation evaluateAllToggles = (J.MethodInvocation) stream.getSelect();
+                if (!UNLEASH_MORE.matches(evaluateAllToggles.getSelect())) {
+                    return null;
+                }
+                J.MethodInvocation more = (J.MethodInvocation) evaluateAllToggles.getSelect();
+
+                Expression context = evaluateAllToggles.getArguments().get(0);
+                List<Expression> arguments = context instanceof J.Empty ?
+                        singletonList(key.withPrefix(Space.EMPTY)) :
+                        Arrays.asList(key.withPrefix(Space.EMPTY), context.withPrefix(Space.SINGLE_SPACE));
+                JavaType.Method isEnabledType = context instanceof J.Empty ?
+                        findMethod(more.getMethodType(), "isEnabled", "java.lang.String") :
+                        findMethod(more.getMethodType(), "isEnabled", "java.lang.String", "io.getunleash.UnleashContext");
+                if (isEnabledType == null) {
+                    return null;
+                }
+                maybeRemoveImport("io.getunleash.EvaluatedToggle");
+                return rename(more, isEnabledType, arguments).withPrefix(mi.getPrefix());
+            }
+
+            /**
+             * {@code ff4j.getFeatures().get(key).isEnable()} to {@code ff4j.getFeature(key).isEnable()}.
+             */
+            private J.@Nullable MethodInvocation ff4jGetFeature(J.MethodInvocation mi) {
+                if (!FF4J_FEATURE_IS_ENABLE.matches(mi) || !MAP_GET.matches(mi.getSelect())) {
+                    return null;
+                }
+                J.MethodInvocation get = (J.MethodInvocation) mi.getSelect();
+                if (!FF4J_GET_FEATURES.matches(get.getSelect())) {
+                    return null;
+                }
+                J.MethodInvocation getFeatures = (J.MethodInvocation) get.getSelect();
+                JavaType.Method getFeatureType = findMethod(getFeatures.getMethodType(), "getFeature", "java.lang.String");
+                if (getFeatureType == null) {
+                    return null;
+                }
+                return mi.withSelect(rename(getFeatures, getFeatureType,
+                        singletonList(get.getArguments().get(0).withPrefix(Space.EMPTY))));
+            }
+        };
+        return Preconditions.check(
+                Preconditions.or(
+                        new UsesMethod<>(LD_ALL_FLAGS_STATE),
+                        new UsesMethod<>(UNLEASH_EVALUATE_ALL_TOGGLES),
+                        new UsesMethod<>(FF4J_GET_FEATURES)),
+                visitor);
+    }
+
+    private static J.MethodInvocation rename(J.MethodInvocation mi, JavaType.Method methodType, List<Expression> arguments) {
+        return mi
+                .withName(mi.getName().withSimpleName(methodType.getName()).withType(methodType))
+                .withMethodType(methodType)
+                .withArguments(arguments);
+    }
+
+    private static boolean isFalse(Expression expression) {
+        return expression instanceof J.Literal && Boolean.FALSE.equals(((J.Literal) expression).getValue());
+    }
+
+    private static boolean isToggleEnabled(Expression mapper) {
+        if (mapper instanceof J.MemberReference) {
+            J.MemberReference reference = (J.MemberReference) mapper;
+            return "isEnabled".equals(reference.getReference().getSimpleName()) &&
+                   TypeUtils.isOfClassType(reference.getContaining().getType(), "io.getunleash.EvaluatedToggle");
+        }
+        return mapper instanceof J.Lambda && UNLEASH_TOGGLE_ENABLED.matches(lambdaBody(mapper));
+    }
+
+    /**
+     * @return The key compared against in either {@code t -> t.getName().equals(key)} or {@code t -> key.equals(t.getName())}.
+     */
+    private static @Nullable Expression toggleNameKey(Expression predicate) {
+        if (!STRING_EQUALS.matches(lambdaBody(predicate))) {
+            return null;
+        }
+        J.MethodInvocation equals = (J.MethodInvocation) lambdaBody(predicate);
+        Expression argument = equals.getArguments().get(0);
+        if (UNLEASH_TOGGLE_NAME.matches(equals.getSelect()) && isKey(argument)) {
+            return argument;
+        }
+        if (UNLEASH_TOGGLE_NAME.matches(argument) && equals.getSelect() != null && isKey(equals.getSelect())) {
+            return equals.getSelect();
+        }
+        return null;
+    }
+
+    private static @Nullable Expression lambdaBody(Expression expression) {
+        if (expression instanceof J.Lambda && ((J.Lambda) expression).getBody() instanceof Expression) {
+            return (Expression) ((J.Lambda) expression).getBody();
+        }
+        return null;
+    }
+
+    private static boolean isKey(Expression expression) {
+        if (expression instanceof J.Literal) {
+            return ((J.Literal) expression).getValue() instanceof String;
+        }
+        JavaType.Variable fieldType = null;
+        if (expression instanceof J.Identifier) {
+            fieldType = ((J.Identifier) expression).getFieldType();
+        } else if (expression instanceof J.FieldAccess) {
+            fieldType = ((J.FieldAccess) expression).getName().getFieldType();
+        }
+        // Only fields, as lambda parameters and locals could depend on the toggle being filtered
+        return fieldType != null && fieldType.getOwner() instanceof JavaType.FullyQualified;
+    }
+
+    /**
+     * @return The variation overload taking the same kind of context, {@code LDContext} or {@code LDUser}, as {@code allFlagsState}.
+     */
+    private static JavaType.@Nullable Method findVariation(JavaType.@Nullable Method allFlagsState, String name) {
+        if (allFlagsState != null && !allFlagsState.getParameterTypes().isEmpty()) {
+            JavaType context = allFlagsState.getParameterTypes().get(0);
+            for (JavaType.Method method : allFlagsState.getDeclaringType().getMethods()) {
+                if (method.getName().equals(name) && method.getParameterTypes().size() == 3 &&
+                    TypeUtils.isOfType(method.getParameterTypes().get(1), context)) {
+                    return method;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static JavaType.@Nullable Method findMethod(JavaType.@Nullable Method sibling, String name, String... parameterTypes) {
+        if (sibling != null) {
+            nextMethod:
+            for (JavaType.Method method : sibling.getDeclaringType().getMethods()) {
+                if (!method.getName().equals(name) || method.getParameterTypes().size() != parameterTypes.length) {
+                    continue;
+                }
+                for (int i = 0; i < parameterTypes.length; i++) {
+                    if (!TypeUtils.isOfClassType(method.getParameterTypes().get(i), parameterTypes[i])) {
+                        continue nextMethod;
+                    }
+                }
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private static J.Literal literal(@Nullable Object value, String valueSource, JavaType.Primitive type) {
+        return new J.Literal(Tree.randomId(), Space.SINGLE_SPACE, Markers.EMPTY, value, valueSource, null, type);
+    }
+}
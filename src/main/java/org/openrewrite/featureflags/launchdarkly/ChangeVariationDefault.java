@@ -18,8 +18,9 @@ package org.openrewrite.featureflags.launchdarkly;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 import org.openrewrite.*;
-import org.openrewrite.analysis.constantfold.ConstantFold;
-import org.openrewrite.analysis.util.CursorUtil;
+import org.openrewrite.featureflags.FeatureKeyMatcher;
+import org.openrewrite.featureflags.search.HasSdkOnClasspath;
+import org.openrewrite.featureflags.search.UsesFeatureKey;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.MethodMatcher;
@@ -56,33 +57,28 @@ public class ChangeVariationDefault extends Recipe {
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         JavaIsoVisitor<ExecutionContext> visitor = new JavaIsoVisitor<ExecutionContext>() {
+            final FeatureKeyMatcher keyMatcher = new FeatureKeyMatcher();
+
             @Override
             public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
                 J.MethodInvocation mi = super.visitMethodInvocation(method, ctx);
                 Expression firstArgument = mi.getArguments().get(0);
                 Expression lastArgument = mi.getArguments().get(mi.getArguments().size() - 1);
-                if (BOOL_VARIATION_MATCHER.matches(mi) && isFeatureKey(firstArgument)) {
+                if (BOOL_VARIATION_MATCHER.matches(mi) && keyMatcher.match(getCursor(), firstArgument, featureKey, ctx) != null) {
                     return changeValue(mi, lastArgument, new J.Literal(Tree.randomId(), Space.SINGLE_SPACE, Markers.EMPTY, defaultValue, defaultValue, null, JavaType.Primitive.Boolean));
                 }
-                if (STRING_VARIATION_MATCHER.matches(mi) && isFeatureKey(firstArgument)) {
+                if (STRING_VARIATION_MATCHER.matches(mi) && keyMatcher.match(getCursor(), firstArgument, featureKey, ctx) != null) {
                     return changeValue(mi, lastArgument, new J.Literal(Tree.randomId(), Space.SINGLE_SPACE, Markers.EMPTY, defaultValue, "\"" + defaultValue + "\"", null, JavaType.Primitive.String));
                 }
-                if (INT_VARIATION_MATCHER.matches(mi) && isFeatureKey(firstArgument)) {
+                if (INT_VARIATION_MATCHER.matches(mi) && keyMatcher.match(getCursor(), firstArgument, featureKey, ctx) != null) {
                     return changeValue(mi, lastArgument, new J.Literal(Tree.randomId(), Space.SINGLE_SPACE, Markers.EMPTY, defaultValue, defaultValue, null, JavaType.Primitive.Int));
                 }
-                if (DOUBLE_VARIATION_MATCHER.matches(mi) && isFeatureKey(firstArgument)) {
+                if (DOUBLE_VARIATION_MATCHER.matches(mi) && keyMatcher.match(getCursor(), firstArgument, featureKey, ctx) != null) {
                     return changeValue(mi, lastArgument, new J.Literal(Tree.randomId(), Space.SINGLE_SPACE, Markers.EMPTY, defaultValue, defaultValue, null, JavaType.Primitive.Double));
                 }
                 return mi;
             }
 
-            private Boolean isFeatureKey(Expression firstArgument) {
-                return CursorUtil.findCursorForTree(getCursor(), firstArgument)
-                        .bind(c -> ConstantFold.findConstantLiteralValue(c, String.class))
-                        .map(featureKey::equals)
-                        .orSome(false);
-            }
-
             private J.MethodInvocation changeValue(J.MethodInvocation mi, Expression existingValue, J.Literal newValue) {
                 if (existingValue instanceof J.Literal && newValue.getValueSource().equals(((J.Literal) existingValue).getValueSource())) {
                     return mi; // No change needed
@@ -91,11 +87,14 @@ public class ChangeVariationDefault extends Recipe {
             }
         };
         return Preconditions.check(
-                Preconditions.or(
-                        new UsesMethod<>(BOOL_VARIATION_MATCHER),
-                        new UsesMethod<>(STRING_VARIATION_MATCHER),
-                        new UsesMethod<>(INT_VARIATION_MATCHER),
-                        new UsesMethod<>(DOUBLE_VARIATION_MATCHER)),
+                Preconditions.and(
+                        new HasSdkOnClasspath("com.launchdarkly.sdk.server.LDClient").getVisitor(),
+                        Preconditions.or(
+                                new UsesMethod<>(BOOL_VARIATION_MATCHER),
+                                new UsesMethod<>(STRING_VARIATION_MATCHER),
+                                new UsesMethod<>(INT_VARIATION_MATCHER),
+                                new UsesMethod<>(DOUBLE_VARIATION_MATCHER)),
+                        new UsesFeatureKey<>(featureKey)),
                 visitor);
     }
 }
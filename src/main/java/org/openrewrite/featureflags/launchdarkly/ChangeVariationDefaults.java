@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.launchdarkly;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.featureflags.FeatureKeyMatcher;
+import org.openrewrite.featureflags.FeatureKeyMethods;
+import org.openrewrite.featureflags.search.HasSdkOnClasspath;
+import org.openrewrite.featureflags.search.UsesFeatureKey;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.Space;
+import org.openrewrite.marker.Markers;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@EqualsAndHashCode(callSuper = false)
+@Value
+public class ChangeVariationDefaults extends Recipe {
+    private static final MethodMatcher VARIATION_MATCHER = new MethodMatcher("com.launchdarkly.sdk.server.LDClient *Variation(String, com.launchdarkly.sdk.*, *)", true);
+    private static final String TEMPLATES = ChangeVariationDefaults.class.getName() + ".TEMPLATES";
+
+    String displayName = "Change the default values for feature keys";
+
+    String description = "Change the default value for `Variation` invocations of many feature keys in a single pass, " +
+                         "including `jsonValueVariation` invocations with an `LDValue` default.";
+
+    @Option(displayName = "Default values",
+            description = "The default value to use in feature flag invocations, by feature key. " +
+                          "Defaults of `jsonValueVariation` invocations are given as JSON.",
+            example = "flag-key-123abc: true")
+    Map<String, String> defaultValues;
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        JavaVisitor<ExecutionContext> visitor = new JavaVisitor<ExecutionContext>() {
+            final FeatureKeyMatcher keyMatcher = new FeatureKeyMatcher();
+
+            @Override
+            public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
+                if (!VARIATION_MATCHER.matches(mi)) {
+                    return mi;
+                }
+                FeatureKeyMatcher.Resolution resolution = keyMatcher.resolve(getCursor(), mi.getArguments().get(0), ctx);
+                String featureKey = resolution == null ? null : resolution.getFeatureKey();
+                String defaultValue = featureKey == null ? null : defaultValues.get(featureKey);
+                if (defaultValue == null) {
+                    return mi;
+                }
+
+                Expression lastArgument = mi.getArguments().get(mi.getArguments().size() - 1);
+                switch (mi.getSimpleName()) {
+                    case "boolVariation":
+                        if ("true".equals(defaultValue) || "false".equals(defaultValue)) {
+                            return changeValue(mi, lastArgument, literal(Boolean.valueOf(defaultValue), defaultValue, JavaType.Primitive.Boolean));
+                        }
+                        return mi;
+                    case "intVariation":
+                        try {
+                            // Normalized, as a literal with a leading zero would be read as octal
+                            Integer intValue = Integer.valueOf(defaultValue);
+                            return changeValue(mi, lastArgument, literal(intValue, String.valueOf(intValue), JavaType.Primitive.Int));
+                        } catch (NumberFormatException e) {
+                            return mi;
+                        }
+                    case "doubleVariation":
+                        try {
+                            Double doubleValue = Double.valueOf(defaultValue);
+                            if (doubleValue.isNaN() || doubleValue.isInfinite()) {
+                                return mi;
+                            }
+                            return changeValue(mi, lastArgument, literal(doubleValue, String.valueOf(doubleValue), JavaType.Primitive.Double));
+                        } catch (NumberFormatException e) {
+                            return mi;
+                        }
+                    case "stringVariation":
+                        return changeValue(mi, lastArgument, literal(defaultValue, FeatureKeyMethods.quote(defaultValue), JavaType.Primitive.String));
+                    case "jsonValueVariation":
+                        return changeJsonValue(mi, lastArgument, defaultValue, ctx);
+                    default:
+                        return mi;
+                }
+            }
+
+            private J.MethodInvocation changeValue(J.MethodInvocation mi, Expression existingValue, J.Literal newValue) {
+                if (existingValue instanceof J.Literal && newValue.getValueSource().equals(((J.Literal) existingValue).getValueSource())) {
+                    return mi; // No change needed
+                }
+                return mi.withArguments(ListUtils.mapLast(mi.getArguments(), a -> newValue.withPrefix(a.getPrefix())));
+            }
+
+            private J.MethodInvocation changeJsonValue(J.MethodInvocation mi, Expression existingValue, String json, ExecutionContext ctx) {
+                String trimmed = json.trim();
+                String code;
+                J.@Nullable Literal parameter;
+                if ("null".equals(trimmed)) {
+                    code = "LDValue.ofNull()";
+                    parameter = null;
+                } else if ("true".equals(trimmed) || "false".equals(trimmed)) {
+                    code = "LDValue.of(#{any(boolean)})";
+                    parameter = literal(Boolean.valueOf(trimmed), trimmed, JavaType.Primitive.Boolean);
+                } else if (trimmed.length() > 1 && trimmed.startsWith("\"") && trimmed.endsWith("\"") && !trimmed.contains("\\")) {
+                    code = "LDValue.of(#{any(String)})";
+                    parameter = literal(trimmed.substring(1, trimmed.length() - 1), trimmed, JavaType.Primitive.String);
+                } else if (trimmed.matches("-?\\d{1,9}")) {
+                    code = "LDValue.of(#{any(int)})";
+                    Integer intValue = Integer.valueOf(trimmed);
+                    parameter = literal(intValue, String.valueOf(intValue), JavaType.Primitive.Int);
+                } else {
+                    code = "LDValue.parse(#{any(String)})";
+                    parameter = literal(trimmed, FeatureKeyMethods.quote(trimmed), JavaType.Primitive.String);
+                }
+                if (parameter != null) {
+                    parameter = parameter.withPrefix(Space.EMPTY);
+                }
+                String source = parameter == null ? code : code.substring(0, code.indexOf("#{")) + parameter.getValueSource() + ")";
+                if (source.equals(existingValue.printTrimmed(getCursor()))) {
+                    return mi; // No change needed
+                }
+
+                maybeAddImport("com.launchdarkly.sdk.LDValue");
+                String artifact = LaunchDarklyClasspath.artifact(ctx, getCursor());
+                Map<String, Map<String, JavaTemplate>> templates = ctx.computeMessageIfAbsent(TEMPLATES, k -> new ConcurrentHashMap<>());
+                JavaTemplate template = templates.computeIfAbsent(artifact, a -> new ConcurrentHashMap<>()).computeIfAbsent(code, c -> JavaTemplate.builder(c)
+                        .javaParser(LaunchDarklyClasspath.parser(ctx, artifact))
+                        .imports("com.launchdarkly.sdk.LDValue")
+                        .build());
+                // The template replaces the last argument, so it is applied on the cursor of that argument
+                Cursor argumentCursor = new Cursor(updateCursor(mi), existingValue);
+                Expression replacement = parameter == null ?
+                        template.apply(argumentCursor, existingValue.getCoordinates().replace()) :
+                        template.apply(argumentCursor, existingValue.getCoordinates().replace(), parameter);
+                return mi.withArguments(ListUtils.mapLast(mi.getArguments(), a -> replacement.withPrefix(a.getPrefix())));
+            }
+
+            private J.Literal literal(Object value, String valueSource, JavaType.Primitive type) {
+                return new J.Literal(Tree.randomId(), Space.SINGLE_SPACE, Markers.EMPTY, value, valueSource, null, type);
+            }
+        };
+        return Preconditions.check(
+                Preconditions.and(
+                        new HasSdkOnClasspath("com.launchdarkly.sdk.server.LDClient").getVisitor(),
+                        new UsesMethod<>(VARIATION_MATCHER),
+                        new UsesFeatureKey<>(defaultValues.keySet())),
+                visitor);
+    }
+}
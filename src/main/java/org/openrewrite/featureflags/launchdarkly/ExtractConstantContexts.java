@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.launchdarkly;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.openrewrite.*;
+import org.openrewrite.featureflags.StaticFields.Field;
+import org.openrewrite.featureflags.search.HasSdkOnClasspath;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.tree.*;
+import org.openrewrite.marker.Markers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.reverse;
+import static org.openrewrite.featureflags.StaticFields.*;
+import static org.openrewrite.featureflags.launchdarkly.MigrateUserToContext.contextBuilderChain;
+import static org.openrewrite.featureflags.search.FindPerCallClientConstruction.isConstructedPerCall;
+
+@EqualsAndHashCode(callSuper = false)
+@Value
+public class ExtractConstantContexts extends Recipe {
+    private static final String FIELDS = "FIELDS";
+
+    private static final MethodMatcher CREATE_CONTEXT = new MethodMatcher("com.launchdarkly.sdk.LDContext create(..)");
+    private static final MethodMatcher CONTEXT_BUILDER = new MethodMatcher("com.launchdarkly.sdk.LDContext builder(..)");
+    private static final MethodMatcher CONTEXT_BUILDER_BUILD = new MethodMatcher("com.launchdarkly.sdk.ContextBuilder build()");
+    private static final MethodMatcher NEW_USER = new MethodMatcher("com.launchdarkly.sdk.LDUser <constructor>(String)");
+    private static final List<MethodMatcher> CONSTANT_FACTORIES = Arrays.asList(
+            new MethodMatcher("com.launchdarkly.sdk.ContextKind of(String)"),
+            new MethodMatcher("com.launchdarkly.sdk.LDValue of(..)"));
+
+    String displayName = "Extract constant `LDContext` and `LDUser` instances to static fields";
+
+    String description = "Extract `LDContext.create(..)`, `LDContext.builder(..)` chains and `new LDUser(..)` built solely from compile-time constants " +
+                         "into `private static final` fields, so they are not rebuilt and validated on every evaluation.";
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return Preconditions.check(
+                Preconditions.and(
+                        new HasSdkOnClasspath("com.launchdarkly.sdk.server.LDClient").getVisitor(),
+                        Preconditions.or(
+                                new UsesMethod<>(CREATE_CONTEXT),
+                                new UsesMethod<>(CONTEXT_BUILDER),
+                                new UsesMethod<>(NEW_USER))),
+                new JavaVisitor<ExecutionContext>() {
+                    @Override
+                    public J visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+                        if (classDecl.getType() == null || !canDeclareStaticMembers(getCursor())) {
+                            return super.visitClassDeclaration(classDecl, ctx);
+                        }
+
+                        Map<String, Field> fields = new LinkedHashMap<>();
+                        getCursor().putMessage(FIELDS, fields);
+                        J.ClassDeclaration cd = (J.ClassDeclaration) super.visitClassDeclaration(classDecl, ctx);
+                        List<Field> declarations = new ArrayList<>(fields.values());
+                        reverse(declarations); // fields after the same statement are inserted in reverse
+                        for (Field field : declarations) {
+                            JavaType.FullyQualified type = field.getType();
+                            cd = JavaTemplate.builder("private static final " + type.getClassName() + " " + field.getName() +
+                                                      " = #{any(" + type.getFullyQualifiedName() + ")};")
+                                    .contextSensitive()
+                                    .javaParser(LaunchDarklyClasspath.parser(ctx, getCursor()))
+                                    .imports(type.getFullyQualifiedName())
+                                    .build()
+                                    .apply(updateCursor(cd), coordinates(cd, field.getInitializer()), field.getInitializer());
+                        }
+                        return blankLineAfter(cd, declarations);
+                    }
+
+                    @Override
+                    public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                        J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
+                        if (CREATE_CONTEXT.matches(mi) && areConstant(mi.getArguments(), CONSTANT_FACTORIES)) {
+                            return extract(mi, mi, "CONTEXT");
+                        }
+                        if (CONTEXT_BUILDER_BUILD.matches(mi)) {
+                            List<J.MethodInvocation> chain = contextBuilderChain(mi);
+                            Expression root = chain.isEmpty() ? mi.getSelect() : chain.get(chain.size() - 1).getSelect();
+                            if (!CONTEXT_BUILDER.matches(root) || !areConstant(((J.MethodInvocation) root).getArguments(), CONSTANT_FACTORIES)) {
+                                return mi;
+                            }
+                            for (J.MethodInvocation m : chain) {
+                                if (!areConstant(m.getArguments(), CONSTANT_FACTORIES)) {
+                                    return mi;
+                                }
+                            }
+                            return extract(mi, (J.MethodInvocation) root, "CONTEXT");
+                        }
+                        return mi;
+                    }
+
+                    @Override
+                    public J visitNewClass(J.NewClass newClass, ExecutionContext ctx) {
+                        J.NewClass nc = (J.NewClass) super.visitNewClass(newClass, ctx);
+                        if (NEW_USER.matches(nc) && nc.getBody() == null && areConstant(nc.getArguments(), CONSTANT_FACTORIES)) {
+                            return extract(nc, nc, "USER");
+                        }
+                        return nc;
+                    }
+
+                    private Expression extract(Expression expression, MethodCall keyed, String suffix) {
+                        if (!isConstructedPerCall(getCursor())) {
+                            return expression;
+                        }
+                        Cursor classCursor = getCursor().dropParentUntil(v -> v instanceof J.ClassDeclaration ||
+                                                                              v instanceof J.NewClass && ((J.NewClass) v).getBody() != null ||
+                                                                              v instanceof JavaSourceFile);
+                        Map<String, Field> fields = classCursor.getMessage(FIELDS);
+                        JavaType.FullyQualified type = TypeUtils.asFullyQualified(expression.getType());
+                        if (fields == null || type == null) {
+                            return expression;
+                        }
+
+                        J.ClassDeclaration cd = classCursor.getValue();
+                        String source = expression.withPrefix(Space.EMPTY).printTrimmed(getCursor().getParentOrThrow());
+                        Field field = fields.computeIfAbsent(source, k -> new Field(
+                                fieldName(cd, keyName(keyed) + suffix, fields.values()), type, expression.withPrefix(Space.EMPTY)));
+                        JavaType.Variable fieldType = new JavaType.Variable(null,
+                                Flag.Private.getBitMask() | Flag.Static.getBitMask() | Flag.Final.getBitMask(),
+                                field.getName(), cd.getType(), type, emptyList());
+                        return new J.Identifier(Tree.randomId(), expression.getPrefix(), Markers.EMPTY, emptyList(), field.getName(), type, fieldType);
+                    }
+                }
+        );
+    }
+
+    /**
+     * @return A constant name prefix derived from the context key, which is the last argument
+     * of {@code LDContext.create(..)}, {@code LDContext.builder(..)} and {@code new LDUser(..)}.
+     */
+    private static String keyName(MethodCall keyed) {
+        Expression key = keyed.getArguments().get(keyed.getArguments().size() - 1);
+        String name = "";
+        if (key instanceof J.Literal && ((J.Literal) key).getValue() instanceof String) {
+            name = (String) ((J.Literal) key).getValue();
+        } else if (key instanceof J.Identifier) {
+            name = ((J.Identifier) key).getSimpleName();
+        } else if (key instanceof J.FieldAccess) {
+            name = ((J.FieldAccess) key).getSimpleName();
+        }
+        name = name.replaceAll("([a-z0-9])([A-Z])", "$1_$2")
+                .replaceAll("[^A-Za-z0-9]+", "_")
+                .replaceAll("^_+|_+$", "")
+                .toUpperCase(Locale.ROOT);
+        return name.isEmpty() || Character.isDigit(name.charAt(0)) ? "" : name + "_";
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.launchdarkly;
+
+import org.openrewrite.Cursor;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaParserExecutionContextView;
+import org.openrewrite.java.marker.JavaSourceSet;
+import org.openrewrite.java.tree.JavaType;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The LaunchDarkly SDK classpath that recipes in this package template against,
+ * resolved from the bundled type table at most once per SDK version, classpath download directory and JVM.
+ * <p>
+ * Decoding {@code META-INF/rewrite/classpath.tsv.gz} is comparatively expensive, so the resulting
+ * paths are shared between recipe runs instead of being resolved again by every {@code classpathFromResources} call.
+ * The decoded classes themselves live on disk, so the cache only holds their paths, by the directory
+ * that the {@link ExecutionContext} of the run decodes them to.
+ * <p>
+ * Templates are compiled against the 7.x SDK when the source set of the file being visited is on 7.x,
+ * and against the 6.x SDK otherwise.
+ */
+final class LaunchDarklyClasspath {
+    static final String V6 = "launchdarkly-java-server-sdk-6.+";
+    static final String V7 = "launchdarkly-java-server-sdk-7.+";
+
+    /**
+     * A type that was introduced by the 7.0 SDK.
+     */
+    private static final String V7_TYPE = "com.launchdarkly.sdk.server.MigrationStage";
+
+    /**
+     * The classpaths by classpath download directory and artifact.
+     */
+    private static final Map<Path, Map<String, List<Path>>> CLASSPATHS = new ConcurrentHashMap<>();
+
+    private LaunchDarklyClasspath() {
+    }
+
+    static JavaParser.Builder<?, ?> parser(ExecutionContext ctx, Cursor cursor) {
+        return parser(ctx, artifact(ctx, cursor));
+    }
+
+    /**
+     * @return {@link #V7} when the source set of the visited file has the 7.x SDK on its classpath,
+     * or {@link #V6} when it has not or its classpath is not known.
+     */
+    static String artifact(ExecutionContext ctx, Cursor cursor) {
+        SourceFile sourceFile = cursor.firstEnclosing(SourceFile.class);
+        JavaSourceSet sourceSet = sourceFile == null ? null : sourceFile.getMarkers().findFirst(JavaSourceSet.class).orElse(null);
+        if (sourceSet == null || sourceSet.getClasspath().isEmpty()) {
+            return V6;
+        }
+        Map<String, String> artifacts = ctx.computeMessageIfAbsent(LaunchDarklyClasspath.class.getName(), k -> new ConcurrentHashMap<>());
+        return artifacts.computeIfAbsent(sourceSet.getId().toString(), k -> {
+            for (JavaType.FullyQualified type : sourceSet.getClasspath()) {
+                if (V7_TYPE.equals(type.getFullyQualifiedName())) {
+                    return V7;
+                }
+            }
+            return V6;
+        });
+    }
+
+    static JavaParser.Builder<?, ?> parser(ExecutionContext ctx, String artifact) {
+        return JavaParser.fromJavaVersion().classpath(classpath(ctx, artifact));
+    }
+
+    static List<Path> classpath(ExecutionContext ctx, String artifact) {
+        Path target = JavaParserExecutionContextView.view(ctx).getParserClasspathDownloadTarget().toPath().toAbsolutePath();
+        Map<String, List<Path>> classpaths = CLASSPATHS.computeIfAbsent(target, t -> new ConcurrentHashMap<>());
+        List<Path> classpath = classpaths.computeIfAbsent(artifact, a -> JavaParser.dependenciesFromResources(ctx, a));
+        for (Path path : classpath) {
+            if (!Files.exists(path)) {
+                // The temporary directory the table was decoded to has been cleaned up since
+                classpath = JavaParser.dependenciesFromResources(ctx, artifact);
+                classpaths.put(artifact, classpath);
+                break;
+            }
+        }
+        return classpath;
+    }
+}
@@ -15,24 +15,32 @@
  */
 package org.openrewrite.featureflags.launchdarkly;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
 import lombok.Value;
+import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
+import org.openrewrite.featureflags.FeatureFlagEvents;
+import org.openrewrite.featureflags.FeatureFlagEvents.Phase;
+import org.openrewrite.featureflags.RecipeCosts;
+import org.openrewrite.featureflags.search.HasSdkOnClasspath;
+import org.openrewrite.featureflags.table.RecipeCost;
 import org.openrewrite.internal.StringUtils;
 import org.openrewrite.java.*;
 import org.openrewrite.java.search.UsesType;
-import org.openrewrite.java.tree.Expression;
-import org.openrewrite.java.tree.J;
-import org.openrewrite.java.tree.JavaType;
-import org.openrewrite.java.tree.Space;
+import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.Markers;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.reverse;
+import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
 
 @EqualsAndHashCode(callSuper = false)
@@ -47,38 +55,63 @@ public class MigrateUserToContext extends Recipe {
     private static final MethodMatcher BUILTIN_PRIVATE_ATTRIBUTE = new MethodMatcher("com.launchdarkly.sdk.LDUser.Builder private*(String)");
     private static final MethodMatcher CUSTOM_ATTRIBUTES = new MethodMatcher("com.launchdarkly.sdk.LDUser.Builder custom(String, ..)"); // FIXME: This really should be `*`
     private static final MethodMatcher PRIVATE_CUSTOM_ATTRIBUTES = new MethodMatcher("com.launchdarkly.sdk.LDUser.Builder privateCustom(String, ..)"); // FIXME: This really should be `*`
+    private static final MethodMatcher CONTEXT_BUILDER_MATCHER = new MethodMatcher("com.launchdarkly.sdk.ContextBuilder *(..)");
+
+    private static final String CONTEXT_BUILDER = "com.launchdarkly.sdk.ContextBuilder";
+    private static final String TEMPLATES = MigrateUserToContext.class.getName() + ".TEMPLATES";
+    private static final String CREATE = "LDContext.create(#{any(String)})";
+    private static final String BUILDER = "LDContext.builder(#{any(String)})";
+    private static final String SET = "#{any(com.launchdarkly.sdk.ContextBuilder)}.set(#{any(String)}, #{any()})";
+    private static final String SET_MULTILINE = "#{any(com.launchdarkly.sdk.ContextBuilder)}\n.set(#{any(String)}, #{any()})";
+    private static final String SET_PRIVATE = "#{any(com.launchdarkly.sdk.ContextBuilder)}.set(#{any(String)}, #{any()}).privateAttributes(#{any(String)})";
+    private static final String SET_PRIVATE_MULTILINE = "#{any(com.launchdarkly.sdk.ContextBuilder)}\n.set(#{any(String)}, #{any()})\n.privateAttributes(#{any(String)})";
 
     String displayName = "Migrate `LDUser` to `LDContext`";
 
     String description = "Migrate from `LDUser` and `LDUser.Builder` to `LDContext` and `ContextBuilder`.";
 
+    @Option(displayName = "Collect recipe costs",
+            description = "Collect the work the recipe does on each source file in the `RecipeCost` data table, " +
+                          "to find the source files that slow a large run down.",
+            required = false)
+    @Nullable
+    Boolean collectRecipeCosts;
+
+    transient RecipeCost recipeCost = new RecipeCost(this);
+
+    public MigrateUserToContext() {
+        this(null);
+    }
+
+    @JsonCreator
+    public MigrateUserToContext(@Nullable Boolean collectRecipeCosts) {
+        this.collectRecipeCosts = collectRecipeCosts;
+    }
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(
-                new UsesType<>("com.launchdarkly.sdk.LDUser", null),
+        String recipeName = getName();
+        return RecipeCosts.measure(this, recipeCost, collectRecipeCosts, Preconditions.check(
+                Preconditions.and(
+                        new HasSdkOnClasspath("com.launchdarkly.sdk.LDUser").getVisitor(),
+                        new UsesType<>("com.launchdarkly.sdk.LDUser", null)),
                 new JavaVisitor<ExecutionContext>() {
                     @Override
                     public J visitNewClass(J.NewClass newClass, ExecutionContext ctx) {
                         if (NEW_USER.matches(newClass)) {
+                            RecipeCosts.count(Phase.MATCHING, 1);
                             maybeRemoveImport("com.launchdarkly.sdk.LDUser");
                             maybeAddImport("com.launchdarkly.sdk.LDContext");
-                            doAfterVisit(new ChangeType("com.launchdarkly.sdk.LDUser", "com.launchdarkly.sdk.LDContext", null).getVisitor());
-                            return JavaTemplate.builder("LDContext.create(#{any(String)})")
-                                    .contextSensitive()
-                                    .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "launchdarkly-java-server-sdk-6.+"))
-                                    .imports("com.launchdarkly.sdk.LDContext")
-                                    .build()
+                            doAfterVisit(FeatureFlagEvents.timed(recipeName, new ChangeType("com.launchdarkly.sdk.LDUser", "com.launchdarkly.sdk.LDContext", null).getVisitor()));
+                            return template(ctx, CREATE)
                                     .apply(getCursor(), newClass.getCoordinates().replace(), newClass.getArguments().get(0));
                         }
                         if (NEW_USER_BUILDER.matches(newClass)) {
+                            RecipeCosts.count(Phase.MATCHING, 1);
                             maybeRemoveImport("com.launchdarkly.sdk.LDUser");
                             maybeAddImport("com.launchdarkly.sdk.LDContext");
-                            doAfterVisit(new ChangeType("com.launchdarkly.sdk.LDUser", "com.launchdarkly.sdk.LDContext", null).getVisitor());
-                            return JavaTemplate.builder("LDContext.builder(#{any(String)})")
-                                    .contextSensitive()
-                                    .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "launchdarkly-java-server-sdk-6.+"))
-                                    .imports("com.launchdarkly.sdk.LDContext")
-                                    .build()
+                            doAfterVisit(FeatureFlagEvents.timed(recipeName, new ChangeType("com.launchdarkly.sdk.LDUser", "com.launchdarkly.sdk.LDContext", null).getVisitor()));
+                            return template(ctx, BUILDER)
                                     .apply(getCursor(), newClass.getCoordinates().replace(), newClass.getArguments().get(0));
                         }
 
@@ -89,87 +122,192 @@ public class MigrateUserToContext extends Recipe {
                     public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
                         J.MethodInvocation m = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
                         if (BUILTIN_ATTRIBUTE.matches(m) && BASIC_ATTRIBUTES.contains(m.getSimpleName())) {
-                            String code;
-                            if (requireNonNull(m.getPadding().getSelect()).getAfter().getWhitespace().contains("\n")) {
-                                code = "#{any(com.launchdarkly.sdk.ContextBuilder)}\n.set(#{any(String)}, #{any()})";
-                            } else {
-                                code = "#{any(com.launchdarkly.sdk.ContextBuilder)}.set(#{any(String)}, #{any()})";
+                            RecipeCosts.count(Phase.MATCHING, 1);
+                            Expression name = stringLiteral(m.getSimpleName());
+                            J.MethodInvocation set = set(m, name, m.getArguments().get(0), ctx);
+                            if (set != null) {
+                                return set;
                             }
-                            return JavaTemplate.builder(code)
-                                    .contextSensitive()
-                                    .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "launchdarkly-java-server-sdk-6.+"))
-                                    .imports("com.launchdarkly.sdk.ContextBuilder")
-                                    .build()
-                                    .apply(
-                                            getCursor(),
-                                            m.getCoordinates().replace(),
-                                            m.getSelect(),
-                                            new J.Literal(Tree.randomId(), Space.EMPTY, Markers.EMPTY, m.getSimpleName(), "\"" + m.getSimpleName() + "\"", null, JavaType.Primitive.String),
-                                            m.getArguments().get(0)
-                                    );
+                            return template(ctx, isMultiline(m) ? SET_MULTILINE : SET)
+                                    .apply(getCursor(), m.getCoordinates().replace(), m.getSelect(), name, m.getArguments().get(0));
                         }
                         if (BUILTIN_PRIVATE_ATTRIBUTE.matches(m) && PRIVATE_ATTRIBUTES.contains(m.getSimpleName())) {
-                            doAfterVisit(new UseVarargsForPrivateAttributes());
+                            RecipeCosts.count(Phase.MATCHING, 1);
+                            doAfterVisit(FeatureFlagEvents.timed(recipeName, new UseVarargsForPrivateAttributes()));
 
-                            String code;
-                            if (requireNonNull(m.getPadding().getSelect()).getAfter().getWhitespace().contains("\n")) {
-                                code = "#{any(com.launchdarkly.sdk.ContextBuilder)}\n.set(#{any(String)}, #{any()})\n.privateAttributes(#{any(String)})";
-                            } else {
-                                code = "#{any(com.launchdarkly.sdk.ContextBuilder)}.set(#{any(String)}, #{any()}).privateAttributes(#{any(String)})";
-                            }
                             String attributeName = StringUtils.uncapitalize(m.getSimpleName().replace("private", ""));
-                            return JavaTemplate.builder(code)
-                                    .contextSensitive()
-                                    .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "launchdarkly-java-server-sdk-6.+"))
-                                    .imports("com.launchdarkly.sdk.ContextBuilder")
-                                    .build()
-                                    .apply(
-                                            getCursor(),
-                                            m.getCoordinates().replace(),
-                                            m.getSelect(),
-                                            new J.Literal(Tree.randomId(), Space.EMPTY, Markers.EMPTY, attributeName, "\"" + attributeName + "\"", null, JavaType.Primitive.String),
-                                            m.getArguments().get(0),
-                                            new J.Literal(Tree.randomId(), Space.EMPTY, Markers.EMPTY, attributeName, "\"" + attributeName + "\"", null, JavaType.Primitive.String)
-                                    );
+                            J.MethodInvocation set = set(m, stringLiteral(attributeName), m.getArguments().get(0), ctx);
+                            J.MethodInvocation privateAttributes = set == null ? null : privateAttributes(m, set, stringLiteral(attributeName), ctx);
+                            if (privateAttributes != null) {
+                                return privateAttributes;
+                            }
+                            return template(ctx, isMultiline(m) ? SET_PRIVATE_MULTILINE : SET_PRIVATE)
+                                    .apply(getCursor(), m.getCoordinates().replace(), m.getSelect(), stringLiteral(attributeName), m.getArguments().get(0), stringLiteral(attributeName));
                         }
                         if (CUSTOM_ATTRIBUTES.matches(m)) {
-                            String code;
-                            if (requireNonNull(m.getPadding().getSelect()).getAfter().getWhitespace().contains("\n")) {
-                                code = "#{any(com.launchdarkly.sdk.ContextBuilder)}\n.set(#{any(String)}, #{any()})";
-                            } else {
-                                code = "#{any(com.launchdarkly.sdk.ContextBuilder)}.set(#{any(String)}, #{any()})";
+                            RecipeCosts.count(Phase.MATCHING, 1);
+                            J.MethodInvocation set = set(m, m.getArguments().get(0), m.getArguments().get(1), ctx);
+                            if (set != null) {
+                                return set;
                             }
-                            return JavaTemplate.builder(code)
-                                    .contextSensitive()
-                                    .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "launchdarkly-java-server-sdk-6.+"))
-                                    .imports("com.launchdarkly.sdk.ContextBuilder")
-                                    .build()
+                            return template(ctx, isMultiline(m) ? SET_MULTILINE : SET)
                                     .apply(getCursor(), m.getCoordinates().replace(), m.getSelect(), m.getArguments().get(0), m.getArguments().get(1));
                         }
                         if (PRIVATE_CUSTOM_ATTRIBUTES.matches(m)) {
-                            doAfterVisit(new UseVarargsForPrivateAttributes());
+                            RecipeCosts.count(Phase.MATCHING, 1);
+                            doAfterVisit(FeatureFlagEvents.timed(recipeName, new UseVarargsForPrivateAttributes()));
 
-                            String code;
-                            if (requireNonNull(m.getPadding().getSelect()).getAfter().getWhitespace().contains("\n")) {
-                                code = "#{any(com.launchdarkly.sdk.ContextBuilder)}\n.set(#{any(String)}, #{any()})\n.privateAttributes(#{any(String)})";
-                            } else {
-                                code = "#{any(com.launchdarkly.sdk.ContextBuilder)}.set(#{any(String)}, #{any()}).privateAttributes(#{any(String)})";
+                            J.MethodInvocation set = set(m, m.getArguments().get(0), m.getArguments().get(1), ctx);
+                            J.MethodInvocation privateAttributes = set == null ? null : privateAttributes(m, set, m.getArguments().get(0).withId(Tree.randomId()), ctx);
+                            if (privateAttributes != null) {
+                                return privateAttributes;
                             }
-                            return JavaTemplate.builder(code)
-                                    .contextSensitive()
-                                    .javaParser(JavaParser.fromJavaVersion().classpathFromResources(ctx, "launchdarkly-java-server-sdk-6.+"))
-                                    .imports("com.launchdarkly.sdk.ContextBuilder")
-                                    .build()
+                            return template(ctx, isMultiline(m) ? SET_PRIVATE_MULTILINE : SET_PRIVATE)
                                     .apply(getCursor(), m.getCoordinates().replace(), m.getSelect(), m.getArguments().get(0), m.getArguments().get(1), m.getArguments().get(0));
                         }
                         return m;
                     }
+
+                    private boolean isMultiline(J.MethodInvocation m) {
+                        return requireNonNull(m.getPadding().getSelect()).getAfter().getWhitespace().contains("\n");
+                    }
+
+                    /**
+                     * Renames an {@code LDUser.Builder} attribute call in place to {@code ContextBuilder.set(name, value)},
+                     * keeping the select and its formatting as they are.
+                     *
+                     * @return {@code null} when no matching {@code set} overload is known, in which case the template is used.
+                     */
+                    private J.@Nullable MethodInvocation set(J.MethodInvocation m, Expression name, Expression value, ExecutionContext ctx) {
+                        JavaType.Method setType = contextBuilderMethod(m.getSelect(), ctx, "set", value.getType());
+                        if (setType == null) {
+                            return null;
+                        }
+                        return m
+                                .withName(m.getName().withSimpleName("set").withType(setType))
+                                .withArguments(Arrays.asList(name.withPrefix(Space.EMPTY), value.withPrefix(Space.SINGLE_SPACE)))
+                                .withMethodType(setType);
+                    }
+
+                    /**
+                     * Appends {@code .privateAttributes(name)} to an already rewritten {@code set} call,
+                     * on a new line when the original call was on its own line.
+                     */
+                    private J.@Nullable MethodInvocation privateAttributes(J.MethodInvocation original, J.MethodInvocation set, Expression name, ExecutionContext ctx) {
+                        JavaType.Method privateAttributesType = contextBuilderMethod(original.getSelect(), ctx, "privateAttributes", JavaType.Primitive.String);
+                        if (privateAttributesType == null) {
+                            return null;
+                        }
+                        Space after = isMultiline(original) ? requireNonNull(original.getPadding().getSelect()).getAfter() : Space.EMPTY;
+                        return new J.MethodInvocation(
+                                Tree.randomId(),
+                                set.getPrefix(),
+                                Markers.EMPTY,
+                                JRightPadded.build((Expression) set.withPrefix(Space.EMPTY)).withAfter(after),
+                                null,
+                                new J.Identifier(Tree.randomId(), Space.EMPTY, Markers.EMPTY, emptyList(), "privateAttributes", privateAttributesType, null),
+                                JContainer.build(singletonList(JRightPadded.<Expression>build(name.withPrefix(Space.EMPTY)))),
+                                privateAttributesType
+                        );
+                    }
                 }
-        );
+        ));
+    }
+
+    /**
+     * The templates are compiled once per execution and share a single parser,
+     * rather than being rebuilt for every matched {@code LDUser} construction or builder call.
+     */
+    private static JavaTemplate template(ExecutionContext ctx, String code) {
+        return templates(ctx).get(code);
+    }
+
+    private static J.Literal stringLiteral(String value) {
+        return new J.Literal(Tree.randomId(), Space.EMPTY, Markers.EMPTY, value, "\"" + value + "\"", null, JavaType.Primitive.String);
+    }
+
+    private static Templates templates(ExecutionContext ctx) {
+        return ctx.computeMessageIfAbsent(TEMPLATES, k -> new Templates(
+                LaunchDarklyClasspath.parser(ctx, LaunchDarklyClasspath.V6)));
+    }
+
+    /**
+     * Finds a {@code ContextBuilder} method whose last parameter accepts the given argument type.
+     * The type of the select is used when it has already been migrated to {@code ContextBuilder},
+     * otherwise the {@code ContextBuilder} type is resolved once per execution from the LaunchDarkly 6 classpath.
+     */
+    private static JavaType.@Nullable Method contextBuilderMethod(@Nullable Expression select, ExecutionContext ctx, String name, @Nullable JavaType argumentType) {
+        JavaType.FullyQualified contextBuilder = select == null ? null : TypeUtils.asFullyQualified(select.getType());
+        if (!TypeUtils.isOfClassType(contextBuilder, CONTEXT_BUILDER)) {
+            contextBuilder = templates(ctx).contextBuilder(ctx);
+        }
+        if (contextBuilder == null || argumentType == null) {
+            return null;
+        }
+        for (JavaType.Method method : contextBuilder.getMethods()) {
+            if (!method.getName().equals(name) || method.getParameterTypes().isEmpty()) {
+                continue;
+            }
+            JavaType parameterType = method.getParameterTypes().get(method.getParameterTypes().size() - 1);
+            if (parameterType instanceof JavaType.Array) {
+                parameterType = ((JavaType.Array) parameterType).getElemType();
+            }
+            if (TypeUtils.isString(parameterType) ? TypeUtils.isString(argumentType) : TypeUtils.isOfType(parameterType, argumentType)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    @RequiredArgsConstructor
+    private static class Templates {
+        private final JavaParser.Builder<?, ?> parser;
+        private final Map<String, JavaTemplate> templates = new ConcurrentHashMap<>();
+
+        private JavaType.@Nullable FullyQualified contextBuilder;
+        private boolean contextBuilderResolved;
+
+        synchronized JavaType.@Nullable FullyQualified contextBuilder(ExecutionContext ctx) {
+            if (!contextBuilderResolved) {
+                contextBuilderResolved = true;
+                SourceFile stub = parser.build()
+                        .parse(ctx, "class Stub { " + CONTEXT_BUILDER + " b; }")
+                        .findFirst()
+                        .orElse(null);
+                if (stub instanceof J.CompilationUnit) {
+                    Statement field = ((J.CompilationUnit) stub).getClasses().get(0).getBody().getStatements().get(0);
+                    contextBuilder = TypeUtils.asFullyQualified(((J.VariableDeclarations) field).getType());
+                }
+            }
+            return contextBuilder;
+        }
+
+        JavaTemplate get(String code) {
+            return templates.computeIfAbsent(code, c -> JavaTemplate.builder(c)
+                    .contextSensitive()
+                    .javaParser(parser)
+                    .imports("com.launchdarkly.sdk.ContextBuilder", "com.launchdarkly.sdk.LDContext")
+                    .build());
+        }
+    }
+
+    /**
+     * @param build A {@code build()} invocation at the end of a {@code ContextBuilder} chain.
+     * @return The {@code ContextBuilder} invocations preceding {@code build()}, from the last one to the first one in the chain.
+     * The select of the last element is the expression that created the builder, like {@code LDContext.builder(key)}.
+     */
+    static List<J.MethodInvocation> contextBuilderChain(J.MethodInvocation build) {
+        List<J.MethodInvocation> chain = new ArrayList<>();
+        Expression select = build.getSelect();
+        while (CONTEXT_BUILDER_MATCHER.matches(select)) {
+            J.MethodInvocation m = (J.MethodInvocation) select;
+            chain.add(m);
+            select = m.getSelect();
+        }
+        return chain;
     }
 
     private static class UseVarargsForPrivateAttributes extends JavaIsoVisitor<ExecutionContext> {
-        private static final MethodMatcher CONTEXT_BUILDER_MATCHER = new MethodMatcher("com.launchdarkly.sdk.ContextBuilder *(..)");
         private static final MethodMatcher PRIVATE_ATTRIBUTES_STRING_VARARGS_MATCHER = new MethodMatcher("com.launchdarkly.sdk.ContextBuilder privateAttributes(String...)");
         private static final MethodMatcher USER_BUILDER_BUILD_MATCHER = new MethodMatcher("com.launchdarkly.sdk.LDContext$Builder build()");
         private static final MethodMatcher CONTEXT_BUILDER_BUILD_MATCHER = new MethodMatcher("com.launchdarkly.sdk.ContextBuilder build()");
@@ -187,16 +325,10 @@ public class MigrateUserToContext extends Recipe {
 
         private List<J.MethodInvocation> computeChain(J.MethodInvocation build) {
             List<J.MethodInvocation> chain = new ArrayList<>();
-            if (!(build.getSelect() instanceof J.MethodInvocation)) {
-                return chain;
-            }
-
             List<Expression> attributes = new ArrayList<>();
-            Expression select = build.getSelect();
             int privateAttributesInvocations = 0;
             int lastPrivateAttributesIdx = -1;
-            while (CONTEXT_BUILDER_MATCHER.matches(select)) {
-                J.MethodInvocation m = (J.MethodInvocation) select;
+            for (J.MethodInvocation m : contextBuilderChain(build)) {
                 if (PRIVATE_ATTRIBUTES_STRING_VARARGS_MATCHER.matches(m)) {
                     if (lastPrivateAttributesIdx == -1 && CONTEXT_BUILDER_MATCHER.matches(m.getSelect())) {
                         lastPrivateAttributesIdx = chain.size();
@@ -207,7 +339,6 @@ public class MigrateUserToContext extends Recipe {
                 } else {
                     chain.add(m);
                 }
-                select = m.getSelect();
             }
             if (privateAttributesInvocations <= 1) {
                 return emptyList();
@@ -15,25 +15,36 @@
  */
 package org.openrewrite.featureflags.launchdarkly.search;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import lombok.Value;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
-import org.openrewrite.analysis.InvocationMatcher;
-import org.openrewrite.analysis.constantfold.ConstantFold;
-import org.openrewrite.analysis.dataflow.DataFlowNode;
-import org.openrewrite.analysis.dataflow.DataFlowSpec;
-import org.openrewrite.analysis.dataflow.Dataflow;
+import org.openrewrite.featureflags.FeatureFlagEvents.Phase;
+import org.openrewrite.featureflags.FeatureKeyMatcher;
+import org.openrewrite.featureflags.RecipeCosts;
+import org.openrewrite.featureflags.search.DataflowBudget;
+import org.openrewrite.featureflags.search.FindFeatureFlagUsage;
+import org.openrewrite.featureflags.search.HasSdkOnClasspath;
+import org.openrewrite.featureflags.search.UsesFeatureKey;
+import org.openrewrite.featureflags.table.DataflowBudgetExceeded;
+import org.openrewrite.featureflags.table.RecipeCost;
 import org.openrewrite.internal.StringUtils;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesMethod;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
 import org.openrewrite.marker.SearchResult;
 
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
 @EqualsAndHashCode(callSuper = false)
 @Value
 public class FindFeatureFlag extends Recipe {
@@ -52,26 +63,131 @@ public class FindFeatureFlag extends Recipe {
     @Nullable
     String featureKey;
 
+    @Option(displayName = "Dataflow budget",
+            description = "The time in milliseconds the search may spend on dataflow analysis in a single source file. " +
+                          "Beyond it, the feature key is only matched against literal and constant arguments, " +
+                          "and evaluations only dataflow analysis could match are marked as approximate. Unlimited by default.",
+            example = "5000",
+            required = false)
+    @Nullable
+    Integer dataflowBudget;
+
+    @Option(displayName = "Existence only",
+            description = "Only report whether the repository evaluates the feature flag in the `FeatureFlagUsage` data table, " +
+                          "stopping at the first evaluation found, rather than marking every evaluation.",
+            required = false)
+    @Nullable
+    Boolean existenceOnly;
+
+    @Option(displayName = "Collect recipe costs",
+            description = "Collect the work the recipe does on each source file in the `RecipeCost` data table, " +
+                          "to find the source files that slow a large run down.",
+            required = false)
+    @Nullable
+    Boolean collectRecipeCosts;
+
+    @Option(displayName = "Data table directory",
+            description = "A local directory to stream the rows of the data tables of the recipe to, as a CSV file per data table, " +
+                          "rather than collect them in memory until the run ends. Streamed rows are missing from the data tables of the run.",
+            example = "build/data-tables",
+            required = false)
+    @Nullable
+    String dataTableDirectory;
+
+    @Option(displayName = "Compress data tables",
+            description = "Gzip compress the CSV files streamed to the data table directory.",
+            required = false)
+    @Nullable
+    Boolean compressDataTables;
+
     String displayName = "Find a LaunchDarkly feature flag";
 
     String description = "Find a LaunchDarkly feature flag.";
 
+    transient RecipeCost recipeCost;
+
+    transient DataflowBudgetExceeded dataflowBudgetExceeded;
+
+    public FindFeatureFlag(@Nullable FeatureFlagType flagType, @Nullable String featureKey) {
+        this(flagType, featureKey, null);
+    }
+
+    public FindFeatureFlag(@Nullable FeatureFlagType flagType, @Nullable String featureKey, @Nullable Integer dataflowBudget) {
+        this(flagType, featureKey, dataflowBudget, null);
+    }
+
+    public FindFeatureFlag(@Nullable FeatureFlagType flagType, @Nullable String featureKey, @Nullable Integer dataflowBudget,
+                           @Nullable Boolean existenceOnly) {
+        this(flagType, featureKey, dataflowBudget, existenceOnly, null);
+    }
+
+    public FindFeatureFlag(@Nullable FeatureFlagType flagType, @Nullable String featureKey, @Nullable Integer dataflowBudget,
+                           @Nullable Boolean existenceOnly, @Nullable Boolean collectRecipeCosts) {
+        this(flagType, featureKey, dataflowBudget, existenceOnly, collectRecipeCosts, null, null);
+    }
+
+    @JsonCreator
+    public FindFeatureFlag(@Nullable FeatureFlagType flagType, @Nullable String featureKey, @Nullable Integer dataflowBudget,
+                           @Nullable Boolean existenceOnly, @Nullable Boolean collectRecipeCosts,
+                           @Nullable String dataTableDirectory, @Nullable Boolean compressDataTables) {
+        this.flagType = flagType;
+        this.featureKey = featureKey;
+        this.dataflowBudget = dataflowBudget;
+        this.existenceOnly = existenceOnly;
+        this.collectRecipeCosts = collectRecipeCosts;
+        this.dataTableDirectory = dataTableDirectory;
+        this.compressDataTables = compressDataTables;
+        this.recipeCost = new RecipeCost(this, dataTableDirectory, compressDataTables);
+        this.dataflowBudgetExceeded = new DataflowBudgetExceeded(this, dataTableDirectory, compressDataTables);
+    }
+
+    @Override
+    public List<Recipe> getRecipeList() {
+        if (Boolean.TRUE.equals(existenceOnly)) {
+            return singletonList(new FindFeatureFlagUsage(
+                    flagType == null ? "com.launchdarkly.sdk.server.LDClient *Variation(..)" : flagType.asMethodPattern(),
+                    featureKey, dataTableDirectory, compressDataTables));
+        }
+        return emptyList();
+    }
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
+        if (Boolean.TRUE.equals(existenceOnly)) {
+            return TreeVisitor.noop();
+        }
         MethodMatcher methodMatcher = new MethodMatcher("com.launchdarkly.sdk.server.LDClient *Variation(..)");
-        return Preconditions.check(new UsesMethod<>(methodMatcher), new JavaIsoVisitor<ExecutionContext>() {
+        TreeVisitor<?, ExecutionContext> precondition = featureKey == null ?
+                Preconditions.and(new HasSdkOnClasspath("com.launchdarkly.sdk.server.LDClient").getVisitor(), new UsesMethod<>(methodMatcher)) :
+                Preconditions.and(new HasSdkOnClasspath("com.launchdarkly.sdk.server.LDClient").getVisitor(), new UsesMethod<>(methodMatcher), new UsesFeatureKey<>(featureKey));
+        return RecipeCosts.measure(this, recipeCost, collectRecipeCosts, Preconditions.check(precondition, new JavaIsoVisitor<ExecutionContext>() {
+            final FeatureKeyMatcher keyMatcher = new FeatureKeyMatcher(methodMatcher, new DataflowBudget(dataflowBudget));
+
+            @Override
+            public @Nullable J visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof JavaSourceFile) {
+                    return keyMatcher.withDataflowBudget((JavaSourceFile) tree, FindFeatureFlag.this, dataflowBudgetExceeded, ctx,
+                            () -> super.visit(tree, ctx));
+                }
+                return super.visit(tree, ctx);
+            }
+
             @Override
             public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
                 J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
                 if (!methodMatcher.matches(m)) {
                     return m;
                 }
+                RecipeCosts.count(Phase.MATCHING, 1);
+
+                FeatureKeyMatcher.FlowMatch match = getCursor().getMessage("feature.found");
+                boolean keyMatches = match != null;
+                boolean approximate = match == FeatureKeyMatcher.FlowMatch.APPROXIMATE;
 
                 if (flagType != null && featureKey != null) {
                     MethodMatcher flagTypeMatcher = flagType.asMethodMatcher();
-                    Boolean matchesFeatureKey = getCursor().getMessage("feature.found");
-                    if (flagTypeMatcher.matches(m) && matchesFeatureKey != null && matchesFeatureKey) {
-                        return SearchResult.found(m);
+                    if (flagTypeMatcher.matches(m) && keyMatches) {
+                        return found(m, approximate);
                     }
                 } else if (flagType != null) {
                     MethodMatcher flagTypeMatcher = flagType.asMethodMatcher();
@@ -79,9 +195,8 @@ public class FindFeatureFlag extends Recipe {
                         return SearchResult.found(m);
                     }
                 } else if (featureKey != null) {
-                    Boolean matchesFeatureKey = getCursor().getMessage("feature.found");
-                    if (matchesFeatureKey != null && matchesFeatureKey) {
-                        return SearchResult.found(m);
+                    if (keyMatches) {
+                        return found(m, approximate);
                     }
                 } else {
                     return SearchResult.found(m);
@@ -93,35 +208,26 @@ public class FindFeatureFlag extends Recipe {
             @Override
             public Expression visitExpression(Expression expression, ExecutionContext ctx) {
                 Expression e = super.visitExpression(expression, ctx);
-                if (findFeatureKeyFlow() && methodMatcher.matches(getCursor().firstEnclosing(J.MethodInvocation.class))) {
-                    getCursor().putMessageOnFirstEnclosing(J.MethodInvocation.class, "feature.found", true);
+                if (StringUtils.isBlank(featureKey)) {
+                    return e;
+                }
+                J.MethodInvocation method = getCursor().firstEnclosing(J.MethodInvocation.class);
+                if (method != null && method != expression && methodMatcher.matches(method)) {
+                    FeatureKeyMatcher.FlowMatch match = keyMatcher.matchFlow(getCursor(), method, featureKey, FindFeatureFlag.this, ctx);
+                    if (match != null) {
+                        Cursor evaluation = getCursor().dropParentUntil(v -> v == method);
+                        if (evaluation.getMessage("feature.found") != FeatureKeyMatcher.FlowMatch.FOUND) {
+                            evaluation.putMessage("feature.found", match);
+                        }
+                    }
                 }
                 return e;
             }
 
-            private boolean findFeatureKeyFlow() {
-                if (StringUtils.isBlank(featureKey)) {
-                    return false;
-                }
-
-                InvocationMatcher matcher = InvocationMatcher.fromMethodMatcher(methodMatcher);
-                return Dataflow.startingAt(getCursor())
-                        .findSinks(new DataFlowSpec() {
-                            @Override
-                            public boolean isSource(DataFlowNode srcNode) {
-                                return ConstantFold
-                                        .findConstantLiteralValue(srcNode, String.class)
-                                        .map(featureKey::equals)
-                                        .orSome(false);
-                            }
-
-                            @Override
-                            public boolean isSink(DataFlowNode sinkNode) {
-                                return matcher.advanced().isFirstParameter(sinkNode.getCursor());
-                            }
-                        }).isSome();
+            private J.MethodInvocation found(J.MethodInvocation m, boolean approximate) {
+                return approximate ? SearchResult.found(m, DataflowBudget.APPROXIMATE) : SearchResult.found(m);
             }
-        });
+        }));
     }
 
     @RequiredArgsConstructor(access = AccessLevel.PACKAGE)
@@ -135,8 +241,12 @@ public class FindFeatureFlag extends Recipe {
 
         private final String methodName;
 
+        public String asMethodPattern() {
+            return "com.launchdarkly.sdk.server.LDClient " + methodName + "(..)";
+        }
+
         public MethodMatcher asMethodMatcher() {
-            return new MethodMatcher("com.launchdarkly.sdk.server.LDClient " + methodName + "(..)");
+            return new MethodMatcher(asMethodPattern());
         }
     }
 }
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.openfeature;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.openrewrite.*;
+import org.openrewrite.featureflags.StaticFields.Field;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.tree.*;
+import org.openrewrite.marker.Markers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.reverse;
+import static org.openrewrite.featureflags.StaticFields.*;
+import static org.openrewrite.featureflags.search.FindPerCallClientConstruction.isConstructedPerCall;
+
+@EqualsAndHashCode(callSuper = false)
+@Value
+public class ReuseClientAndConstantContexts extends Recipe {
+    private static final String FIELDS = "FIELDS";
+
+    private static final MethodMatcher EVALUATION_MATCHER = new MethodMatcher("dev.openfeature.sdk.Features get*Value(String, ..)", true);
+    private static final MethodMatcher GET_INSTANCE = new MethodMatcher("dev.openfeature.sdk.OpenFeatureAPI getInstance()");
+    private static final MethodMatcher GET_CLIENT = new MethodMatcher("dev.openfeature.sdk.OpenFeatureAPI getClient(..)");
+    private static final MethodMatcher NEW_IMMUTABLE_CONTEXT = new MethodMatcher("dev.openfeature.sdk.ImmutableContext <constructor>(..)");
+
+    private static final List<MethodMatcher> CONSTANT_FACTORIES = Arrays.asList(
+            NEW_IMMUTABLE_CONTEXT,
+            new MethodMatcher("dev.openfeature.sdk.ImmutableStructure <constructor>(..)"),
+            new MethodMatcher("dev.openfeature.sdk.Value <constructor>(..)"),
+            new MethodMatcher("java.util.Map of(..)"),
+            new MethodMatcher("java.util.Collections singletonMap(..)"),
+            new MethodMatcher("java.util.Collections emptyMap()"));
+
+    String displayName = "Reuse OpenFeature clients and constant evaluation contexts";
+
+    String description = "Move `OpenFeatureAPI.getInstance().getClient()` lookups and `ImmutableContext`s built only from constants " +
+                         "out of methods that evaluate feature flags, into `private static final` fields. " +
+                         "This avoids acquiring the client and allocating the context on every evaluation.";
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return Preconditions.check(new UsesMethod<>(EVALUATION_MATCHER), new JavaVisitor<ExecutionContext>() {
+            @Override
+            public J visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+                if (classDecl.getType() == null || !canDeclareStaticMembers(getCursor())) {
+                    return super.visitClassDeclaration(classDecl, ctx);
+                }
+
+                Map<String, Field> fields = new LinkedHashMap<>();
+                getCursor().putMessage(FIELDS, fields);
+                J.ClassDeclaration cd = (J.ClassDeclaration) super.visitClassDeclaration(classDecl, ctx);
+                List<Field> declarations = new ArrayList<>(fields.values());
+                reverse(declarations); // fields after the same statement are inserted in reverse
+                for (Field field : declarations) {
+                    JavaType.FullyQualified type = field.getType();
+                    maybeAddImport(type.getFullyQualifiedName());
+                    cd = JavaTemplate.builder("private static final " + type.getClassName() + " " + field.getName() +
+                                              " = #{any(" + type.getFullyQualifiedName() + ")};")
+                            .contextSensitive()
+                            .javaParser(JavaParser.fromJavaVersion().dependsOn(stub(type)))
+                            .imports(type.getFullyQualifiedName())
+                            .build()
+                            .apply(updateCursor(cd), coordinates(cd, field.getInitializer()), field.getInitializer());
+                }
+                return blankLineAfter(cd, declarations);
+            }
+
+            @Override
+            public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
+                if (GET_CLIENT.matches(mi) && GET_INSTANCE.matches(mi.getSelect()) && areConstant(mi.getArguments(), CONSTANT_FACTORIES)) {
+                    return hoist(mi, "OPEN_FEATURE_CLIENT");
+                }
+                return mi;
+            }
+
+            @Override
+            public J visitNewClass(J.NewClass newClass, ExecutionContext ctx) {
+                J.NewClass nc = (J.NewClass) super.visitNewClass(newClass, ctx);
+                if (NEW_IMMUTABLE_CONTEXT.matches(nc) && nc.getBody() == null && areConstant(nc.getArguments(), CONSTANT_FACTORIES)) {
+                    return hoist(nc, "EVALUATION_CONTEXT");
+                }
+                return nc;
+            }
+
+            private Expression hoist(Expression expression, String baseName) {
+                if (!isConstructedPerCall(getCursor())) {
+                    return expression;
+                }
+                Cursor classCursor = getCursor().dropParentUntil(v -> v instanceof J.ClassDeclaration ||
+                                                                      v instanceof J.NewClass && ((J.NewClass) v).getBody() != null ||
+                                                                      v instanceof JavaSourceFile);
+                Map<String, Field> fields = classCursor.getMessage(FIELDS);
+                JavaType.FullyQualified type = TypeUtils.asFullyQualified(expression.getType());
+                if (fields == null || type == null) {
+                    return expression;
+                }
+
+                J.ClassDeclaration cd = classCursor.getValue();
+                String source = expression.withPrefix(Space.EMPTY).printTrimmed(getCursor().getParentOrThrow());
+                Field field = fields.computeIfAbsent(source, k -> new Field(
+                        fieldName(cd, baseName, fields.values()), type, expression.withPrefix(Space.EMPTY)));
+                JavaType.Variable fieldType = new JavaType.Variable(null,
+                        Flag.Private.getBitMask() | Flag.Static.getBitMask() | Flag.Final.getBitMask(),
+                        field.getName(), cd.getType(), type, emptyList());
+                return new J.Identifier(Tree.randomId(), expression.getPrefix(), Markers.EMPTY, emptyList(), field.getName(), type, fieldType);
+            }
+        });
+    }
+}
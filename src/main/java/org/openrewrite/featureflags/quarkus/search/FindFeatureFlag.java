@@ -15,15 +15,19 @@
  */
 package org.openrewrite.featureflags.quarkus.search;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.Option;
 import org.openrewrite.Recipe;
+import org.openrewrite.featureflags.search.FindFeatureFlagUsage;
 
 import java.util.Arrays;
 import java.util.List;
 
+import static java.util.Collections.singletonList;
+
 @EqualsAndHashCode(callSuper = false)
 @Value
 public class FindFeatureFlag extends Recipe {
@@ -35,12 +39,32 @@ public class FindFeatureFlag extends Recipe {
     @Nullable
     String featureKey;
 
+    @Option(displayName = "Existence only",
+            description = "Only report whether the repository evaluates the feature flag in the `FeatureFlagUsage` data table, " +
+                          "stopping at the first evaluation found, rather than marking every evaluation.",
+            required = false)
+    @Nullable
+    Boolean existenceOnly;
+
     String displayName = "Find a Quarkus feature flag";
 
     String description = "Find a Quarkus feature flag.";
 
+    public FindFeatureFlag(@Nullable String featureKey) {
+        this(featureKey, null);
+    }
+
+    @JsonCreator
+    public FindFeatureFlag(@Nullable String featureKey, @Nullable Boolean existenceOnly) {
+        this.featureKey = featureKey;
+        this.existenceOnly = existenceOnly;
+    }
+
     @Override
     public List<Recipe> getRecipeList() {
+        if (Boolean.TRUE.equals(existenceOnly)) {
+            return singletonList(new FindFeatureFlagUsage("io.quarkiverse.flags.Flags *(String)", featureKey));
+        }
         return Arrays.asList(
                 new org.openrewrite.featureflags.search.FindFeatureFlag(
                         "io.quarkiverse.flags.Flags find(String)", featureKey),
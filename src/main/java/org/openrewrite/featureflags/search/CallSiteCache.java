@@ -0,0 +1,301 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.search;
+
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.SourceFile;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardOpenOption.*;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * A local on-disk cache of the feature flag call sites of source files, keyed by a hash of their path and content,
+ * so that a nightly inventory only analyzes the source files that changed since the previous run.
+ * <p>
+ * The cache is a single append-only file of records, each a length, a payload and its CRC-32.
+ * Writers append under an exclusive file lock, so that the records of concurrent runs never interleave.
+ * As a file lock is held by the whole JVM, the caches of a file within one JVM first take a lock of its path.
+ * Readers take no lock and stop at the first incomplete or corrupt record, such as one still being written.
+ * A record torn by a crashed writer is truncated by the next writer.
+ * <p>
+ * The summary of a source file assumes that it is attributed against the same classpath as when it was cached.
+ * The name of the file includes the version and a hash of the method patterns searched for,
+ * so changing either starts a new cache.
+ */
+public final class CallSiteCache {
+    private static final int MAGIC = 0x46464353;
+    private static final int VERSION = 2;
+    private static final int HEADER_LENGTH = 8;
+    private static final int HASH_LENGTH = 32;
+
+    /**
+     * The locks of the cache files of this JVM, as {@link FileChannel#lock()} fails rather than waits
+     * when another channel of the same JVM holds the lock of the file.
+     */
+    private static final Map<Path, Object> APPEND_LOCKS = new ConcurrentHashMap<>();
+
+    @Value
+    public static class CallSite {
+        String provider;
+        String method;
+
+        @Nullable
+        String featureKey;
+
+        int line;
+        int column;
+    }
+
+    private final Path file;
+    private final Map<String, List<CallSite>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * The length of the file up to the last record read or written by this cache.
+     */
+    private long validLength;
+
+    private CallSiteCache(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * @return The cache of the directory for the method patterns, shared by the recipes of a run.
+     * @throws UncheckedIOException When the directory can not be created or the cache can not be read.
+     */
+    public static CallSiteCache of(ExecutionContext ctx, Path directory, List<String> methodPatterns) {
+        String name = "call-sites-v" + VERSION + "-" + hash(String.join("\n", methodPatterns)).substring(0, 16) + ".bin";
+        Path file = directory.resolve(name).toAbsolutePath().normalize();
+        return ctx.computeMessageIfAbsent(CallSiteCache.class.getName() + "." + file, k -> open(file));
+    }
+
+    static CallSiteCache open(Path file) {
+        CallSiteCache cache = new CallSiteCache(file);
+        try {
+            Files.createDirectories(file.getParent());
+            if (Files.exists(file)) {
+                try (FileChannel channel = FileChannel.open(file, READ)) {
+                    cache.validLength = cache.read(channel, 0);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return cache;
+    }
+
+    /**
+     * @return A hex encoded SHA-256 hash of the path and printed content of the source file.
+     */
+    public static String hash(SourceFile sourceFile) {
+        return hash(sourceFile.getSourcePath() + "\u0000" + sourceFile.printAll());
+    }
+
+    public @Nullable List<CallSite> get(String hash) {
+        return entries.get(hash);
+    }
+
+    /**
+     * Caches the call sites of a source file and appends them to the cache file.
+     *
+     * @throws UncheckedIOException When the cache file can not be written.
+     */
+    public void put(String hash, List<CallSite> callSites) {
+        List<CallSite> value = unmodifiableList(new ArrayList<>(callSites));
+        entries.put(hash, value);
+        try {
+            append(record(hash, value));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void append(ByteBuffer record) throws IOException {
+        synchronized (APPEND_LOCKS.computeIfAbsent(file, f -> new Object())) {
+            appendLocked(record);
+        }
+    }
+
+    private void appendLocked(ByteBuffer record) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, CREATE, READ, WRITE)) {
+            FileLock lock = channel.lock();
+            try {
+                long size = channel.size();
+                if (size != validLength) {
+                    // Pick up the records appended by other writers, and drop a record torn by a crashed one
+                    long end = read(channel, size < validLength ? 0 : validLength);
+                    if (end == 0 && size >= HEADER_LENGTH) {
+                        throw new IOException("Not a call site cache of version " + VERSION + ": " + file);
+                    }
+                    if (end < size) {
+                        channel.truncate(end);
+                    }
+                    size = end;
+                }
+                if (size == 0) {
+                    ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH).putInt(MAGIC).putInt(VERSION);
+                    header.flip();
+                    write(channel, header, 0);
+                    size = HEADER_LENGTH;
+                }
+                write(channel, record, size);
+                channel.force(false);
+                validLength = size + record.limit();
+            } finally {
+                lock.release();
+            }
+        }
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * Reads the records of the file from the given offset.
+     *
+     * @return The offset after the last complete record, or {@code 0} when the file is not a cache of this version.
+     */
+    private long read(FileChannel channel, long from) throws IOException {
+        long size = channel.size();
+        ByteBuffer buffer = ByteBuffer.allocate((int) (size - from));
+        int read;
+        do {
+            read = channel.read(buffer, from + buffer.position());
+        } while (read >= 0 && buffer.hasRemaining());
+        buffer.flip();
+        if (from == 0) {
+            if (buffer.remaining() < HEADER_LENGTH || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return 0;
+            }
+        }
+        long end = from + buffer.position();
+        CRC32 crc = new CRC32();
+        while (buffer.remaining() >= 4) {
+            int length = buffer.getInt();
+            if (length < HASH_LENGTH || buffer.remaining() < length + 4) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            crc.reset();
+            crc.update(payload, 0, length);
+            if ((int) crc.getValue() != buffer.getInt()) {
+                break;
+            }
+            readPayload(payload);
+            end = from + buffer.position();
+        }
+        return end;
+    }
+
+    private void readPayload(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte[] hash = new byte[HASH_LENGTH];
+        in.readFully(hash);
+        int count = in.readInt();
+        List<CallSite> callSites = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String provider = readString(in);
+            String method = readString(in);
+            String featureKey = in.readBoolean() ? readString(in) : null;
+            callSites.add(new CallSite(provider, method, featureKey, in.readInt(), in.readInt()));
+        }
+        entries.put(hex(hash), unmodifiableList(callSites));
+    }
+
+    private static ByteBuffer record(String hash, List<CallSite> callSites) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (int i = 0; i < HASH_LENGTH; i++) {
+            out.writeByte(Integer.parseInt(hash.substring(2 * i, 2 * i + 2), 16));
+        }
+        out.writeInt(callSites.size());
+        for (CallSite callSite : callSites) {
+            writeString(out, callSite.getProvider());
+            writeString(out, callSite.getMethod());
+            out.writeBoolean(callSite.getFeatureKey() != null);
+            if (callSite.getFeatureKey() != null) {
+                writeString(out, callSite.getFeatureKey());
+            }
+            out.writeInt(callSite.getLine());
+            out.writeInt(callSite.getColumn());
+        }
+        byte[] payload = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        ByteBuffer record = ByteBuffer.allocate(payload.length + 8)
+                .putInt(payload.length)
+                .put(payload)
+                .putInt((int) crc.getValue());
+        record.flip();
+        return record;
+    }
+
+    /**
+     * Writes a string as its length and UTF-8 bytes, as {@link DataOutputStream#writeUTF(String)}
+     * fails for strings longer than 64 KB, such as a feature key folded from a large constant.
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String hash(String text) {
+        try {
+            return hex(MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
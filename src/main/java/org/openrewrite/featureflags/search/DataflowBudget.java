@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.search;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Cursor;
+import org.openrewrite.analysis.dataflow.DataFlowNode;
+import org.openrewrite.analysis.dataflow.DataFlowSpec;
+import org.openrewrite.analysis.dataflow.Dataflow;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Limits the time the search recipes spend on dataflow analysis in a single source file.
+ * <p>
+ * A few generated files are large enough for their dataflow analysis to take minutes.
+ * Once the budget of a source file is spent, a running analysis is abandoned and feature keys are only
+ * matched by the cheaper tiers of the {@link org.openrewrite.featureflags.FeatureKeyMatcher},
+ * so that the evaluations only the dataflow analysis could have matched are marked {@link #APPROXIMATE}.
+ */
+public final class DataflowBudget {
+    public static final String APPROXIMATE = "Possibly matches, as the dataflow analysis was skipped when the dataflow budget was exceeded";
+
+    @Nullable
+    private final Integer budgetMillis;
+
+    private final long budgetNanos;
+    private long spentNanos;
+    private boolean exceeded;
+
+    /**
+     * @param budgetMillis The budget of each source file in milliseconds, or {@code null} for no limit.
+     */
+    public DataflowBudget(@Nullable Integer budgetMillis) {
+        this.budgetMillis = budgetMillis;
+        this.budgetNanos = budgetMillis == null ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+    }
+
+    /**
+     * Starts the budget of a new source file.
+     */
+    public void reset() {
+        spentNanos = 0;
+        exceeded = false;
+    }
+
+    public boolean isExceeded() {
+        return exceeded;
+    }
+
+    public @Nullable Integer getBudgetMillis() {
+        return budgetMillis;
+    }
+
+    public long getSpentMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(spentNanos);
+    }
+
+    /**
+     * @return Whether a source flows from the cursor to a sink, or {@code false} when the budget ran out first.
+     */
+    public boolean findSinks(Cursor start, Predicate<DataFlowNode> isSource, Predicate<DataFlowNode> isSink) {
+        if (exceeded) {
+            return false;
+        }
+        long started = System.nanoTime();
+        long deadline = budgetNanos == Long.MAX_VALUE ? Long.MAX_VALUE : started + budgetNanos - spentNanos;
+        try {
+            return Dataflow.startingAt(start)
+                    .findSinks(new DataFlowSpec() {
+                        @Override
+                        public boolean isSource(DataFlowNode srcNode) {
+                            checkDeadline(deadline);
+                            return isSource.test(srcNode);
+                        }
+
+                        @Override
+                        public boolean isSink(DataFlowNode sinkNode) {
+                            checkDeadline(deadline);
+                            return isSink.test(sinkNode);
+                        }
+                    }).isSome();
+        } catch (Exceeded e) {
+            exceeded = true;
+            return false;
+        } finally {
+            spentNanos += System.nanoTime() - started;
+            if (spentNanos >= budgetNanos) {
+                exceeded = true;
+            }
+        }
+    }
+
+    private static void checkDeadline(long deadline) {
+        if (deadline != Long.MAX_VALUE && System.nanoTime() > deadline) {
+            throw Exceeded.INSTANCE;
+        }
+    }
+
+    private static final class Exceeded extends RuntimeException {
+        private static final Exceeded INSTANCE = new Exceeded();
+
+        private Exceeded() {
+            super("Dataflow budget exceeded", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.search;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.featureflags.FeatureKeyMatcher;
+import org.openrewrite.featureflags.FeatureKeyMethods;
+import org.openrewrite.featureflags.search.CallSiteCache.CallSite;
+import org.openrewrite.featureflags.table.FeatureFlagCallSites;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaPrinter;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.Space;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+
+@EqualsAndHashCode(callSuper = false)
+@Value
+public class FeatureFlagInventory extends Recipe {
+
+    @Option(displayName = "Method pattern",
+            description = "A method pattern to match against. The first argument must be the feature key as `String`. " +
+                          "Defaults to the evaluation methods of all supported SDKs.",
+            example = "dev.openfeature.sdk.Client getBooleanValue(String, Boolean)",
+            required = false)
+    @Nullable
+    String methodPattern;
+
+    @Option(displayName = "Cache directory",
+            description = "A local directory to cache the call sites of each source file in, by a hash of its content, " +
+                          "so that later runs only analyze the source files that changed.",
+            example = "/var/cache/feature-flags",
+            required = false)
+    @Nullable
+    String cacheDirectory;
+
+    @Option(displayName = "Data table directory",
+            description = "A local directory to stream the rows of the data tables of the recipe to, as a CSV file per data table, " +
+                          "rather than collect them in memory until the run ends. Streamed rows are missing from the data tables of the run.",
+            example = "build/data-tables",
+            required = false)
+    @Nullable
+    String dataTableDirectory;
+
+    @Option(displayName = "Compress data tables",
+            description = "Gzip compress the CSV files streamed to the data table directory.",
+            required = false)
+    @Nullable
+    Boolean compressDataTables;
+
+    String displayName = "Feature flag inventory";
+
+    String description = "List every evaluation of a feature flag in the `FeatureFlagCallSites` data table, " +
+                         "with its SDK, feature key and position.";
+
+    transient FeatureFlagCallSites featureFlagCallSites;
+
+    public FeatureFlagInventory(@Nullable String methodPattern, @Nullable String cacheDirectory) {
+        this(methodPattern, cacheDirectory, null, null);
+    }
+
+    @JsonCreator
+    public FeatureFlagInventory(@Nullable String methodPattern, @Nullable String cacheDirectory,
+                                @Nullable String dataTableDirectory, @Nullable Boolean compressDataTables) {
+        this.methodPattern = methodPattern;
+        this.cacheDirectory = cacheDirectory;
+        this.dataTableDirectory = dataTableDirectory;
+        this.compressDataTables = compressDataTables;
+        this.featureFlagCallSites = new FeatureFlagCallSites(this, dataTableDirectory, compressDataTables);
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        List<MethodMatcher> matchers = FeatureKeyMethods.matchers(methodPattern);
+        return Preconditions.check(FeatureKeyMethods.usesAny(matchers), new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+                return sourceFile instanceof J.CompilationUnit;
+            }
+
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (!(tree instanceof J.CompilationUnit)) {
+                    return tree;
+                }
+                J.CompilationUnit cu = (J.CompilationUnit) tree;
+                CallSiteCache cache = cache(ctx);
+                String hash = cache == null ? null : CallSiteCache.hash(cu);
+                List<CallSite> callSites = hash == null ? null : cache.get(hash);
+                boolean cached = callSites != null;
+                if (callSites == null) {
+                    callSites = findCallSites(cu, matchers, ctx);
+                    if (hash != null) {
+                        try {
+                            cache.put(hash, callSites);
+                        } catch (UncheckedIOException e) {
+                            ctx.getOnError().accept(e);
+                        }
+                    }
+                }
+                List<FeatureFlagCallSites.Row> rows = new ArrayList<>(callSites.size());
+                for (CallSite callSite : callSites) {
+                    rows.add(new FeatureFlagCallSites.Row(
+                            cu.getSourcePath().toString(),
+                            callSite.getProvider(),
+                            callSite.getMethod(),
+                            callSite.getFeatureKey() == null ? "" : callSite.getFeatureKey(),
+                            callSite.getLine(),
+                            callSite.getColumn(),
+                            cached));
+                }
+                featureFlagCallSites.insertRows(ctx, rows);
+                return tree;
+            }
+        });
+    }
+
+    private @Nullable CallSiteCache cache(ExecutionContext ctx) {
+        if (cacheDirectory == null) {
+            return null;
+        }
+        try {
+            return CallSiteCache.of(ctx, Paths.get(cacheDirectory),
+                    methodPattern == null ? FeatureKeyMethods.METHOD_PATTERNS : singletonList(methodPattern));
+        } catch (UncheckedIOException e) {
+            ctx.getOnError().accept(e);
+            return null;
+        }
+    }
+
+    @Value
+    static class Evaluation {
+        String provider;
+        String method;
+
+        @Nullable
+        String featureKey;
+    }
+
+    /**
+     * Finds the evaluations of a compilation unit with the feature keys they resolve to, without printing it,
+     * for the callers that do not need the positions of the call sites.
+     *
+     * @return The evaluations by the id of their method invocation, in the order they were visited.
+     */
+    static Map<UUID, Evaluation> findEvaluations(J.CompilationUnit cu, List<MethodMatcher> matchers, ExecutionContext ctx) {
+        Map<UUID, Evaluation> evaluations = new LinkedHashMap<>();
+        FeatureKeyMatcher keyMatcher = new FeatureKeyMatcher();
+        new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
+                JavaType.Method methodType = m.getMethodType();
+                if (FeatureKeyMethods.matches(matchers, m) && !m.getArguments().isEmpty() && methodType != null) {
+                    FeatureKeyMatcher.Resolution resolution = keyMatcher.resolve(getCursor(), m.getArguments().get(0), ctx);
+                    evaluations.put(m.getId(), new Evaluation(
+                            methodType.getDeclaringType().getFullyQualifiedName(),
+                            methodType.getName(),
+                            resolution == null ? null : resolution.getFeatureKey()));
+                }
+                return m;
+            }
+        }.visit(cu, ctx);
+        return evaluations;
+    }
+
+    static List<CallSite> findCallSites(J.CompilationUnit cu, List<MethodMatcher> matchers, ExecutionContext ctx) {
+        Map<UUID, Evaluation> evaluations = findEvaluations(cu, matchers, ctx);
+        if (evaluations.isEmpty()) {
+            return emptyList();
+        }
+
+        // The tree does not keep positions, so they are taken from the offsets at which the evaluations are printed
+        List<Evaluation> printed = new ArrayList<>(evaluations.size());
+        List<Integer> offsets = new ArrayList<>(evaluations.size());
+        PrintOutputCapture<Integer> out = new PrintOutputCapture<>(0);
+        new JavaPrinter<Integer>() {
+            boolean evaluationPrefix;
+
+            @Override
+            public J visitMethodInvocation(J.MethodInvocation method, PrintOutputCapture<Integer> p) {
+                Evaluation evaluation = evaluations.get(method.getId());
+                if (evaluation != null) {
+                    printed.add(evaluation);
+                    evaluationPrefix = true;
+                }
+                return super.visitMethodInvocation(method, p);
+            }
+
+            @Override
+            public Space visitSpace(Space space, Space.Location loc, PrintOutputCapture<Integer> p) {
+                Space s = super.visitSpace(space, loc, p);
+                if (evaluationPrefix && loc == Space.Location.METHOD_INVOCATION_PREFIX) {
+                    // The evaluation starts after its whole prefix, including any comments
+                    offsets.add(p.out.length());
+                    evaluationPrefix = false;
+                }
+                return s;
+            }
+        }.visit(cu, out);
+
+        String source = out.getOut();
+        List<CallSite> callSites = new ArrayList<>(printed.size());
+        int line = 1;
+        int lineStart = 0;
+        int scanned = 0;
+        for (int i = 0; i < printed.size(); i++) {
+            int offset = offsets.get(i);
+            for (; scanned < offset; scanned++) {
+                if (source.charAt(scanned) == '\n') {
+                    line++;
+                    lineStart = scanned + 1;
+                }
+            }
+            Evaluation evaluation = printed.get(i);
+            callSites.add(new CallSite(
+                    evaluation.getProvider(),
+                    evaluation.getMethod(),
+                    evaluation.getFeatureKey(),
+                    line,
+                    offset - lineStart + 1));
+        }
+        return callSites;
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.search;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A compact summary of a feature flag inventory, by feature key: the number of evaluations, the number of
+ * evaluations per SDK type, and sketches of the number of distinct repositories and source files.
+ * <p>
+ * Summaries of shards of a fleet, as written by {@link SummarizeFeatureFlags} on separate nodes, are merged
+ * into the summary a single run over the whole fleet would have written. Merging adds the counts and takes
+ * the register maximums of the {@link HyperLogLog} sketches, so it is associative and commutative, and
+ * shards can be merged in any order or tree. Run {@link #main(String[])} to merge summary files locally.
+ * <p>
+ * A summary is written as a gzip compressed stream of its keys in sorted order, so that equal summaries
+ * are written as equal bytes.
+ */
+public final class FeatureFlagSummary {
+    private static final int MAGIC = 0x46465355;
+    private static final int VERSION = 1;
+
+    private final Map<String, KeySummary> featureKeys = new ConcurrentHashMap<>();
+
+    public static final class KeySummary {
+        private final LongAdder evaluations = new LongAdder();
+        private final Map<String, LongAdder> providers = new ConcurrentHashMap<>();
+        private final HyperLogLog repositories = new HyperLogLog();
+        private final HyperLogLog sourceFiles = new HyperLogLog();
+
+        public long getEvaluations() {
+            return evaluations.sum();
+        }
+
+        /**
+         * @return The number of evaluations by the fully qualified name of the SDK type they are declared on.
+         */
+        public SortedMap<String, Long> getProviders() {
+            SortedMap<String, Long> counts = new TreeMap<>();
+            for (Map.Entry<String, LongAdder> provider : providers.entrySet()) {
+                counts.put(provider.getKey(), provider.getValue().sum());
+            }
+            return counts;
+        }
+
+        public long estimateRepositories() {
+            return repositories.estimate();
+        }
+
+        public long estimateSourceFiles() {
+            return sourceFiles.estimate();
+        }
+
+        private void add(String provider, long evaluations) {
+            this.evaluations.add(evaluations);
+            providers.computeIfAbsent(provider, p -> new LongAdder()).add(evaluations);
+        }
+    }
+
+    /**
+     * Counts an evaluation of a feature key.
+     */
+    public void add(String repository, String sourcePath, String featureKey, String provider) {
+        KeySummary summary = featureKeys.computeIfAbsent(featureKey, k -> new KeySummary());
+        summary.add(provider, 1);
+        summary.repositories.add(repository);
+        summary.sourceFiles.add(repository + "\u0000" + sourcePath);
+    }
+
+    /**
+     * Merges another summary into this one.
+     *
+     * @return This summary.
+     */
+    public FeatureFlagSummary merge(FeatureFlagSummary other) {
+        for (Map.Entry<String, KeySummary> entry : other.featureKeys.entrySet()) {
+            KeySummary from = entry.getValue();
+            KeySummary into = featureKeys.computeIfAbsent(entry.getKey(), k -> new KeySummary());
+            for (Map.Entry<String, LongAdder> provider : from.providers.entrySet()) {
+                into.add(provider.getKey(), provider.getValue().sum());
+            }
+            into.repositories.merge(from.repositories);
+            into.sourceFiles.merge(from.sourceFiles);
+        }
+        return this;
+    }
+
+    public SortedSet<String> getFeatureKeys() {
+        return new TreeSet<>(featureKeys.keySet());
+    }
+
+    public @Nullable KeySummary get(String featureKey) {
+        return featureKeys.get(featureKey);
+    }
+
+    public void write(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            write(out);
+        }
+    }
+
+    public void write(OutputStream stream) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(stream);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(gzip));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        SortedSet<String> keys = getFeatureKeys();
+        out.writeInt(keys.size());
+        for (String key : keys) {
+            KeySummary summary = featureKeys.get(key);
+            out.writeUTF(key);
+            SortedMap<String, Long> providers = summary.getProviders();
+            out.writeInt(providers.size());
+            for (Map.Entry<String, Long> provider : providers.entrySet()) {
+                out.writeUTF(provider.getKey());
+                out.writeLong(provider.getValue());
+            }
+            summary.repositories.write(out);
+            summary.sourceFiles.write(out);
+        }
+        out.flush();
+        gzip.finish();
+    }
+
+    public static FeatureFlagSummary read(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in);
+        }
+    }
+
+    public static FeatureFlagSummary read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(stream)));
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Not a feature flag summary of version " + VERSION);
+        }
+        FeatureFlagSummary summary = new FeatureFlagSummary();
+        int keys = in.readInt();
+        for (int k = 0; k < keys; k++) {
+            KeySummary keySummary = new KeySummary();
+            summary.featureKeys.put(in.readUTF(), keySummary);
+            int providers = in.readInt();
+            for (int p = 0; p < providers; p++) {
+                keySummary.add(in.readUTF(), in.readLong());
+            }
+            keySummary.repositories.merge(HyperLogLog.read(in));
+            keySummary.sourceFiles.merge(HyperLogLog.read(in));
+        }
+        return summary;
+    }
+
+    public static FeatureFlagSummary merge(Collection<Path> files) throws IOException {
+        FeatureFlagSummary merged = new FeatureFlagSummary();
+        for (Path file : files) {
+            merged.merge(read(file));
+        }
+        return merged;
+    }
+
+    /**
+     * Merges summary files into one and prints it as CSV.
+     * <pre>
+     * java org.openrewrite.featureflags.search.FeatureFlagSummary merged.ffs shard-1.ffs shard-2.ffs ...
+     * </pre>
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: FeatureFlagSummary <merged summary> <summary>...");
+            System.exit(2);
+        }
+        List<Path> shards = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            shards.add(Paths.get(args[i]));
+        }
+        FeatureFlagSummary merged = merge(shards);
+        merged.write(Paths.get(args[0]));
+
+        PrintStream out = System.out;
+        out.println("Feature key,Evaluations,Repositories (estimate),Source files (estimate),Providers");
+        for (String key : merged.getFeatureKeys()) {
+            KeySummary summary = merged.featureKeys.get(key);
+            StringJoiner providers = new StringJoiner(" ");
+            for (Map.Entry<String, Long> provider : summary.getProviders().entrySet()) {
+                providers.add(provider.getKey() + "=" + provider.getValue());
+            }
+            out.println(csv(key) + "," + summary.getEvaluations() + "," + summary.estimateRepositories() + "," +
+                        summary.estimateSourceFiles() + "," + csv(providers.toString()));
+        }
+    }
+
+    private static String csv(String value) {
+        return value.indexOf(',') >= 0 || value.indexOf('"') >= 0 ?
+                '"' + value.replace("\"", "\"\"") + '"' :
+                value;
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.search;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Arrays.asList;
+
+/**
+ * A sorted index from feature keys to the source files that evaluate them, as written by {@link IndexFeatureKeys},
+ * so that removing a feature flag from a large repository only visits the few source files that refer to its key.
+ * <p>
+ * The index is a single file that is memory-mapped rather than read, with a header followed by int arrays and
+ * two blobs of UTF-8 strings, both sorted:
+ * <pre>
+ * magic, version, key count K, path count P
+ * key offsets[K + 1], posting offsets[K + 1], path offsets[P + 1], postings[]
+ * keys, paths
+ * </pre>
+ * The postings of a key are the indexes of its paths. Keys are found by a binary search over the mapped file,
+ * so opening an index of any size costs no more than mapping it.
+ */
+public final class FeatureKeyIndex {
+    private static final int MAGIC = 0x46464B49;
+    private static final int VERSION = 1;
+    private static final int HEADER_LENGTH = 16;
+
+    private final ByteBuffer buffer;
+    private final int keyCount;
+    private final int pathCount;
+    private final int keyOffsets;
+    private final int postingOffsets;
+    private final int pathOffsets;
+    private final int postings;
+    private final int keys;
+    private final int paths;
+
+    /**
+     * The source paths of the keys looked up so far, as the visitor of a removal recipe is created for every source file.
+     */
+    private final Map<String, Set<String>> sourcePathSets = new ConcurrentHashMap<>();
+
+    private FeatureKeyIndex(ByteBuffer buffer) throws IOException {
+        if (buffer.limit() < HEADER_LENGTH || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a feature key index of version " + VERSION);
+        }
+        this.buffer = buffer;
+        keyCount = buffer.getInt(8);
+        pathCount = buffer.getInt(12);
+        keyOffsets = HEADER_LENGTH;
+        postingOffsets = keyOffsets + 4 * (keyCount + 1);
+        pathOffsets = postingOffsets + 4 * (keyCount + 1);
+        postings = pathOffsets + 4 * (pathCount + 1);
+        keys = postings + 4 * buffer.getInt(postingOffsets + 4 * keyCount);
+        paths = keys + buffer.getInt(keyOffsets + 4 * keyCount);
+        if (paths + buffer.getInt(pathOffsets + 4 * pathCount) != buffer.limit()) {
+            throw new IOException("Truncated feature key index");
+        }
+    }
+
+    public static FeatureKeyIndex open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new FeatureKeyIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * @return The index in the file, shared by the recipes of a run.
+     * @throws UncheckedIOException When the index can not be read.
+     */
+    public static FeatureKeyIndex of(ExecutionContext ctx, Path file) {
+        Path absolute = file.toAbsolutePath().normalize();
+        return ctx.computeMessageIfAbsent(FeatureKeyIndex.class.getName() + "." + absolute, k -> {
+            try {
+                return open(absolute);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Writes an index to a temporary file that then replaces the file, so that readers never see a partial index.
+     */
+    public static void write(Path file, Map<String, ? extends Collection<String>> sourcePathsByKey) throws IOException {
+        SortedMap<String, ? extends Collection<String>> sorted = new TreeMap<>(sourcePathsByKey);
+        SortedSet<String> distinctPaths = new TreeSet<>();
+        for (Collection<String> sourcePaths : sorted.values()) {
+            distinctPaths.addAll(sourcePaths);
+        }
+        List<String> allPaths = new ArrayList<>(distinctPaths);
+        Map<String, Integer> pathIndexes = new HashMap<>();
+        for (String path : allPaths) {
+            pathIndexes.put(path, pathIndexes.size());
+        }
+
+        ByteArrayOutputStream keyBlob = new ByteArrayOutputStream();
+        ByteArrayOutputStream pathBlob = new ByteArrayOutputStream();
+        List<Integer> keyOffsets = new ArrayList<>();
+        List<Integer> postingOffsets = new ArrayList<>();
+        List<Integer> pathOffsets = new ArrayList<>();
+        List<Integer> postings = new ArrayList<>();
+        for (Map.Entry<String, ? extends Collection<String>> entry : sorted.entrySet()) {
+            keyOffsets.add(keyBlob.size());
+            postingOffsets.add(postings.size());
+            byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            keyBlob.write(key, 0, key.length);
+            SortedSet<Integer> keyPostings = new TreeSet<>();
+            for (String path : entry.getValue()) {
+                keyPostings.add(pathIndexes.get(path));
+            }
+            postings.addAll(keyPostings);
+        }
+        keyOffsets.add(keyBlob.size());
+        postingOffsets.add(postings.size());
+        for (String path : allPaths) {
+            pathOffsets.add(pathBlob.size());
+            byte[] bytes = path.getBytes(StandardCharsets.UTF_8);
+            pathBlob.write(bytes, 0, bytes.length);
+        }
+        pathOffsets.add(pathBlob.size());
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(sorted.size());
+                out.writeInt(allPaths.size());
+                for (List<Integer> ints : asList(keyOffsets, postingOffsets, pathOffsets, postings)) {
+                    for (int i : ints) {
+                        out.writeInt(i);
+                    }
+                }
+                keyBlob.writeTo(out);
+                pathBlob.writeTo(out);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public int size() {
+        return keyCount;
+    }
+
+    /**
+     * @return The sorted paths of the source files that evaluate the feature key.
+     */
+    public List<String> sourcePaths(String featureKey) {
+        int low = 0;
+        int high = keyCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int compared = string(keys, keyOffsets, mid).compareTo(featureKey);
+            if (compared < 0) {
+                low = mid + 1;
+            } else if (compared > 0) {
+                high = mid - 1;
+            } else {
+                int from = buffer.getInt(postingOffsets + 4 * mid);
+                int to = buffer.getInt(postingOffsets + 4 * (mid + 1));
+                List<String> sourcePaths = new ArrayList<>(to - from);
+                for (int i = from; i < to; i++) {
+                    sourcePaths.add(string(paths, pathOffsets, buffer.getInt(postings + 4 * i)));
+                }
+                return sourcePaths;
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * @return The paths of the source files that evaluate the feature key, computed once per key.
+     */
+    public Set<String> sourcePathSet(String featureKey) {
+        return sourcePathSets.computeIfAbsent(featureKey, k -> Collections.unmodifiableSet(new HashSet<>(sourcePaths(k))));
+    }
+
+    private String string(int blob, int offsets, int index) {
+        int from = buffer.getInt(offsets + 4 * index);
+        int to = buffer.getInt(offsets + 4 * (index + 1));
+        byte[] bytes = new byte[to - from];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(blob + from + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Wraps the visitor of a removal recipe to only accept the source files the index lists for the feature key.
+     * When no index is given, or it can not be read, every source file is visited.
+     */
+    public static TreeVisitor<?, ExecutionContext> restrict(@Nullable String indexFile, String featureKey,
+                                                            TreeVisitor<?, ExecutionContext> visitor) {
+        if (indexFile == null) {
+            return visitor;
+        }
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+                Set<String> listed = sourcePaths(ctx);
+                return (listed == null || listed.contains(sourceFile.getSourcePath().toString())) &&
+                       visitor.isAcceptable(sourceFile, ctx);
+            }
+
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                return visitor.visit(tree, ctx);
+            }
+
+            private @Nullable Set<String> sourcePaths(ExecutionContext ctx) {
+                String unreadable = FeatureKeyIndex.class.getName() + ".unreadable." + indexFile;
+                if (ctx.getMessage(unreadable) != null) {
+                    return null;
+                }
+                try {
+                    return of(ctx, Paths.get(indexFile)).sourcePathSet(featureKey);
+                } catch (UncheckedIOException e) {
+                    // Reported once, after which every source file is visited
+                    ctx.putMessage(unreadable, true);
+                    ctx.getOnError().accept(e);
+                    return null;
+                }
+            }
+        };
+    }
+}
@@ -15,21 +15,23 @@
  */
 package org.openrewrite.featureflags.search;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.*;
-import org.openrewrite.analysis.InvocationMatcher;
-import org.openrewrite.analysis.constantfold.ConstantFold;
-import org.openrewrite.analysis.dataflow.DataFlowNode;
-import org.openrewrite.analysis.dataflow.DataFlowSpec;
-import org.openrewrite.analysis.dataflow.Dataflow;
+import org.openrewrite.featureflags.FeatureFlagEvents.Phase;
+import org.openrewrite.featureflags.FeatureKeyMatcher;
+import org.openrewrite.featureflags.RecipeCosts;
+import org.openrewrite.featureflags.table.DataflowBudgetExceeded;
+import org.openrewrite.featureflags.table.RecipeCost;
 import org.openrewrite.internal.StringUtils;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesMethod;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
 import org.openrewrite.marker.SearchResult;
 
 @EqualsAndHashCode(callSuper = false)
@@ -48,28 +50,104 @@ public class FindFeatureFlag extends Recipe {
     @Nullable
     String featureKey;
 
+    @Option(displayName = "Dataflow budget",
+            description = "The time in milliseconds the search may spend on dataflow analysis in a single source file. " +
+                          "Beyond it, the feature key is only matched against literal and constant arguments, " +
+                          "and evaluations only dataflow analysis could match are marked as approximate. Unlimited by default.",
+            example = "5000",
+            required = false)
+    @Nullable
+    Integer dataflowBudget;
+
+    @Option(displayName = "Collect recipe costs",
+            description = "Collect the work the recipe does on each source file in the `RecipeCost` data table, " +
+                          "to find the source files that slow a large run down.",
+            required = false)
+    @Nullable
+    Boolean collectRecipeCosts;
+
+    @Option(displayName = "Data table directory",
+            description = "A local directory to stream the rows of the data tables of the recipe to, as a CSV file per data table, " +
+                          "rather than collect them in memory until the run ends. Streamed rows are missing from the data tables of the run.",
+            example = "build/data-tables",
+            required = false)
+    @Nullable
+    String dataTableDirectory;
+
+    @Option(displayName = "Compress data tables",
+            description = "Gzip compress the CSV files streamed to the data table directory.",
+            required = false)
+    @Nullable
+    Boolean compressDataTables;
+
     String displayName = "Find a feature flag";
 
     String description = "Find a feature flag matching method pattern.";
 
+    transient RecipeCost recipeCost;
+
+    transient DataflowBudgetExceeded dataflowBudgetExceeded;
+
+    public FindFeatureFlag(String methodPattern, @Nullable String featureKey) {
+        this(methodPattern, featureKey, null);
+    }
+
+    public FindFeatureFlag(String methodPattern, @Nullable String featureKey, @Nullable Integer dataflowBudget) {
+        this(methodPattern, featureKey, dataflowBudget, null);
+    }
+
+    public FindFeatureFlag(String methodPattern, @Nullable String featureKey, @Nullable Integer dataflowBudget,
+                           @Nullable Boolean collectRecipeCosts) {
+        this(methodPattern, featureKey, dataflowBudget, collectRecipeCosts, null, null);
+    }
+
+    @JsonCreator
+    public FindFeatureFlag(String methodPattern, @Nullable String featureKey, @Nullable Integer dataflowBudget,
+                           @Nullable Boolean collectRecipeCosts, @Nullable String dataTableDirectory,
+                           @Nullable Boolean compressDataTables) {
+        this.methodPattern = methodPattern;
+        this.featureKey = featureKey;
+        this.dataflowBudget = dataflowBudget;
+        this.collectRecipeCosts = collectRecipeCosts;
+        this.dataTableDirectory = dataTableDirectory;
+        this.compressDataTables = compressDataTables;
+        this.recipeCost = new RecipeCost(this, dataTableDirectory, compressDataTables);
+        this.dataflowBudgetExceeded = new DataflowBudgetExceeded(this, dataTableDirectory, compressDataTables);
+    }
+
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         MethodMatcher methodMatcher = new MethodMatcher(methodPattern, true);
-        return Preconditions.check(new UsesMethod<>(methodMatcher), new JavaIsoVisitor<ExecutionContext>() {
+        TreeVisitor<?, ExecutionContext> precondition = StringUtils.isBlank(featureKey) ?
+                Preconditions.and(HasSdkOnClasspath.forMethodPattern(methodPattern), new UsesMethod<>(methodMatcher)) :
+                Preconditions.and(HasSdkOnClasspath.forMethodPattern(methodPattern), new UsesMethod<>(methodMatcher), new UsesFeatureKey<>(featureKey));
+        return RecipeCosts.measure(this, recipeCost, collectRecipeCosts, Preconditions.check(precondition, new JavaIsoVisitor<ExecutionContext>() {
+            final FeatureKeyMatcher keyMatcher = new FeatureKeyMatcher(methodMatcher, new DataflowBudget(dataflowBudget));
+
+            @Override
+            public @Nullable J visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof JavaSourceFile) {
+                    return keyMatcher.withDataflowBudget((JavaSourceFile) tree, FindFeatureFlag.this, dataflowBudgetExceeded, ctx,
+                            () -> super.visit(tree, ctx));
+                }
+                return super.visit(tree, ctx);
+            }
+
             @Override
             public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
                 J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
                 if (!methodMatcher.matches(m)) {
                     return m;
                 }
+                RecipeCosts.count(Phase.MATCHING, 1);
 
                 if (StringUtils.isBlank(featureKey)) {
                     return SearchResult.found(m);
                 }
 
-                Boolean matchesFeatureKey = getCursor().getMessage("feature.found");
-                if (matchesFeatureKey != null && matchesFeatureKey) {
-                    return SearchResult.found(m);
+                FeatureKeyMatcher.FlowMatch match = getCursor().getMessage("feature.found");
+                if (match != null) {
+                    return match == FeatureKeyMatcher.FlowMatch.APPROXIMATE ? SearchResult.found(m, DataflowBudget.APPROXIMATE) : SearchResult.found(m);
                 }
 
                 return m;
@@ -78,33 +156,21 @@ public class FindFeatureFlag extends Recipe {
             @Override
             public Expression visitExpression(Expression expression, ExecutionContext ctx) {
                 Expression e = super.visitExpression(expression, ctx);
-                if (findFeatureKeyFlow() && methodMatcher.matches(getCursor().firstEnclosing(J.MethodInvocation.class))) {
-                    getCursor().putMessageOnFirstEnclosing(J.MethodInvocation.class, "feature.found", true);
+                if (StringUtils.isBlank(featureKey)) {
+                    return e;
                 }
-                return e;
-            }
-
-            private boolean findFeatureKeyFlow() {
-                if (StringUtils.isBlank(featureKey)){
-                    return false;
+                J.MethodInvocation method = getCursor().firstEnclosing(J.MethodInvocation.class);
+                if (method != null && method != expression && methodMatcher.matches(method)) {
+                    FeatureKeyMatcher.FlowMatch match = keyMatcher.matchFlow(getCursor(), method, featureKey, FindFeatureFlag.this, ctx);
+                    if (match != null) {
+                        Cursor evaluation = getCursor().dropParentUntil(v -> v == method);
+                        if (evaluation.getMessage("feature.found") != FeatureKeyMatcher.FlowMatch.FOUND) {
+                            evaluation.putMessage("feature.found", match);
+                        }
+                    }
                 }
-
-                InvocationMatcher matcher = InvocationMatcher.fromMethodMatcher(methodMatcher);
-                return Dataflow.startingAt(getCursor())
-                        .findSinks(new DataFlowSpec() {
-                            @Override
-                            public boolean isSource(DataFlowNode srcNode) {
-                                return ConstantFold.findConstantLiteralValue(srcNode, String.class)
-                                        .map(featureKey::equals)
-                                        .orSome(false);
-                            }
-
-                            @Override
-                            public boolean isSink(DataFlowNode sinkNode) {
-                                return matcher.advanced().isFirstParameter(sinkNode.getCursor());
-                            }
-                        }).isSome();
+                return e;
             }
-        });
+        }));
     }
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.search;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.featureflags.FeatureKeyMatcher;
+import org.openrewrite.featureflags.table.FeatureFlagUsage;
+import org.openrewrite.internal.StringUtils;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.Collections.emptyList;
+
+@EqualsAndHashCode(callSuper = false)
+@Value
+public class FindFeatureFlagUsage extends ScanningRecipe<FindFeatureFlagUsage.Accumulator> {
+
+    @Option(displayName = "Method pattern",
+            description = "A method pattern to match against. The first argument must be the feature key as `String`.",
+            example = "dev.openfeature.sdk.Client getBooleanValue(String, Boolean)")
+    String methodPattern;
+
+    @Option(displayName = "Feature key",
+            description = "The unique key for the feature flag.",
+            example = "flag-key-123abc",
+            required = false)
+    @Nullable
+    String featureKey;
+
+    @Option(displayName = "Data table directory",
+            description = "A local directory to stream the rows of the data tables of the recipe to, as a CSV file per data table, " +
+                          "rather than collect them in memory until the run ends. Streamed rows are missing from the data tables of the run.",
+            example = "build/data-tables",
+            required = false)
+    @Nullable
+    String dataTableDirectory;
+
+    @Option(displayName = "Compress data tables",
+            description = "Gzip compress the CSV files streamed to the data table directory.",
+            required = false)
+    @Nullable
+    Boolean compressDataTables;
+
+    String displayName = "Find whether a feature flag is used";
+
+    String description = "Reports whether the repository evaluates a feature flag in the `FeatureFlagUsage` data table, " +
+                         "rather than marking every evaluation. The search stops at the first evaluation found, " +
+                         "and only matches feature keys passed as a literal or a constant, without dataflow analysis.";
+
+    transient FeatureFlagUsage featureFlagUsage;
+
+    public FindFeatureFlagUsage(String methodPattern, @Nullable String featureKey) {
+        this(methodPattern, featureKey, null, null);
+    }
+
+    @JsonCreator
+    public FindFeatureFlagUsage(String methodPattern, @Nullable String featureKey,
+                                @Nullable String dataTableDirectory, @Nullable Boolean compressDataTables) {
+        this.methodPattern = methodPattern;
+        this.featureKey = featureKey;
+        this.dataTableDirectory = dataTableDirectory;
+        this.compressDataTables = compressDataTables;
+        this.featureFlagUsage = new FeatureFlagUsage(this, dataTableDirectory, compressDataTables);
+    }
+
+    public static class Accumulator {
+        /**
+         * The first source file found to evaluate the feature flag. When source files are scanned in parallel,
+         * this is whichever of them is found first.
+         */
+        final AtomicReference<@Nullable String> foundIn = new AtomicReference<>();
+
+        final AtomicBoolean reported = new AtomicBoolean();
+    }
+
+    @Override
+    public Accumulator getInitialValue(ExecutionContext ctx) {
+        return new Accumulator();
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(Accumulator acc) {
+        MethodMatcher methodMatcher = new MethodMatcher(methodPattern, true);
+        TreeVisitor<?, ExecutionContext> precondition = StringUtils.isBlank(featureKey) ?
+                Preconditions.and(HasSdkOnClasspath.forMethodPattern(methodPattern), new UsesMethod<>(methodMatcher)) :
+                Preconditions.and(HasSdkOnClasspath.forMethodPattern(methodPattern), new UsesMethod<>(methodMatcher), new UsesFeatureKey<>(featureKey));
+        TreeVisitor<?, ExecutionContext> scanner = Preconditions.check(precondition, new JavaIsoVisitor<ExecutionContext>() {
+            final FeatureKeyMatcher keyMatcher = new FeatureKeyMatcher();
+
+            @Override
+            public @Nullable J visit(@Nullable Tree tree, ExecutionContext ctx) {
+                // Unwind without visiting the rest of the compilation unit once an evaluation is found
+                return acc.foundIn.get() != null ? (J) tree : super.visit(tree, ctx);
+            }
+
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
+                if (acc.foundIn.get() == null && methodMatcher.matches(m) &&
+                    (StringUtils.isBlank(featureKey) || keyMatcher.match(getCursor(), method.getArguments().get(0), featureKey, ctx) != null)) {
+                    acc.foundIn.compareAndSet(null, getCursor().firstEnclosingOrThrow(JavaSourceFile.class).getSourcePath().toString());
+                }
+                return m;
+            }
+        });
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+                // Once one evaluation is found, the rest of the repository is skipped
+                return acc.foundIn.get() == null && scanner.isAcceptable(sourceFile, ctx);
+            }
+
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                return acc.foundIn.get() == null ? scanner.visit(tree, ctx) : tree;
+            }
+        };
+    }
+
+    @Override
+    public Collection<? extends SourceFile> generate(Accumulator acc, ExecutionContext ctx) {
+        if (acc.reported.compareAndSet(false, true)) {
+            String foundIn = acc.foundIn.get();
+            featureFlagUsage.insertRow(ctx, new FeatureFlagUsage.Row(
+                    methodPattern,
+                    featureKey == null ? "" : featureKey,
+                    foundIn != null,
+                    foundIn == null ? "" : foundIn));
+        }
+        return emptyList();
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.search;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.openrewrite.*;
+import org.openrewrite.featureflags.FeatureKeyMethods;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+import org.openrewrite.marker.SearchResult;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@EqualsAndHashCode(callSuper = false)
+@Value
+public class FindPerCallClientConstruction extends Recipe {
+    private static final List<String> CLIENT_TYPES = Arrays.asList(
+            "com.launchdarkly.sdk.server.LDClient",
+            "io.getunleash.Unleash",
+            "org.ff4j.FF4j");
+
+    private static final List<String> CLOSE_METHODS = Arrays.asList("close", "shutdown");
+
+    private static final List<String> FACTORY_ANNOTATIONS = Arrays.asList(
+            "org.springframework.context.annotation.Bean",
+            "io.micronaut.context.annotation.Bean",
+            "javax.enterprise.inject.Produces",
+            "jakarta.enterprise.inject.Produces",
+            "com.google.inject.Provides",
+            "dagger.Provides",
+            "javax.annotation.PostConstruct",
+            "jakarta.annotation.PostConstruct");
+
+    String displayName = "Find feature flag clients constructed per call";
+
+    String description = "Find `LDClient`, `Unleash` and `FF4j` clients constructed inside methods, rather than in field or static initializers, " +
+                         "constructors or dependency injection factory methods. " +
+                         "These clients open connections or parse their configuration when constructed, which is expensive to repeat on every call.";
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return Preconditions.check(usesClientType(), new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.NewClass visitNewClass(J.NewClass newClass, ExecutionContext ctx) {
+                J.NewClass nc = super.visitNewClass(newClass, ctx);
+                if (isClientConstruction(nc) && isConstructedPerCall(getCursor())) {
+                    return isClosedAfterUse(getCursor()) ?
+                            SearchResult.found(nc, "Closed after use, so it can not be shared as is") :
+                            SearchResult.found(nc);
+                }
+                return nc;
+            }
+        });
+    }
+
+    public static TreeVisitor<?, ExecutionContext> usesClientType() {
+        return Preconditions.or(
+                new UsesType<>("com.launchdarkly.sdk.server.LDClient", false),
+                new UsesType<>("io.getunleash..*", false),
+                new UsesType<>("org.ff4j.FF4j", false));
+    }
+
+    public static boolean isClientConstruction(J.NewClass newClass) {
+        if (newClass.getBody() != null || TypeUtils.isOfClassType(newClass.getType(), "io.getunleash.FakeUnleash")) {
+            return false;
+        }
+        for (String clientType : CLIENT_TYPES) {
+            if (TypeUtils.isAssignableTo(clientType, newClass.getType())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param cursor The cursor of a client construction.
+     * @return {@code true} when the enclosing method is not a constructor or dependency injection factory method,
+     * and the construction is not part of a field or initializer block, as those run once per instance at most.
+     */
+    public static boolean isConstructedPerCall(Cursor cursor) {
+        for (Iterator<Cursor> it = cursor.getPathAsCursors(); it.hasNext(); ) {
+            Cursor c = it.next();
+            Object value = c.getValue();
+            if (value instanceof J.MethodDeclaration) {
+                J.MethodDeclaration method = (J.MethodDeclaration) value;
+                return !method.isConstructor() && !isFactoryMethod(method);
+            }
+            if (value instanceof J.Block || value instanceof J.VariableDeclarations) {
+                Cursor parent = c.getParentTreeCursor();
+                if (parent.getValue() instanceof J.Block && parent.getParentTreeCursor().getValue() instanceof J.ClassDeclaration) {
+                    return false; // field declaration or initializer block
+                }
+            }
+            if (value instanceof J.ClassDeclaration) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param cursor The cursor of a client construction.
+     * @return {@code true} when the client is a try-with-resources resource, or is assigned to a variable that is
+     * closed or shut down in the enclosing method, as sharing it would close the client for every later caller.
+     */
+    public static boolean isClosedAfterUse(Cursor cursor) {
+        Cursor parent = cursor.getParentTreeCursor();
+        JavaType.Variable variable = null;
+        if (parent.getValue() instanceof J.VariableDeclarations.NamedVariable) {
+            if (parent.getParentTreeCursor().getParentTreeCursor().getValue() instanceof J.Try.Resource) {
+                return true;
+            }
+            variable = ((J.VariableDeclarations.NamedVariable) parent.getValue()).getVariableType();
+        } else if (parent.getValue() instanceof J.Assignment) {
+            variable = FeatureKeyMethods.variable(((J.Assignment) parent.getValue()).getVariable());
+        }
+        String signature = FeatureKeyMethods.signature(variable);
+        J.MethodDeclaration method = cursor.firstEnclosing(J.MethodDeclaration.class);
+        if (signature == null || method == null || method.getBody() == null) {
+            return false;
+        }
+        AtomicBoolean closed = new AtomicBoolean();
+        new JavaIsoVisitor<AtomicBoolean>() {
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation mi, AtomicBoolean closed) {
+                if (CLOSE_METHODS.contains(mi.getSimpleName()) && mi.getSelect() != null &&
+                    signature.equals(FeatureKeyMethods.signature(FeatureKeyMethods.variable(mi.getSelect())))) {
+                    closed.set(true);
+                }
+                return super.visitMethodInvocation(mi, closed);
+            }
+
+            @Override
+            public J.Try.Resource visitTryResource(J.Try.Resource tryResource, AtomicBoolean closed) {
+                // Java 9 resources refer to an effectively final variable
+                if (tryResource.getVariableDeclarations() instanceof Expression &&
+                    signature.equals(FeatureKeyMethods.signature(FeatureKeyMethods.variable((Expression) tryResource.getVariableDeclarations())))) {
+                    closed.set(true);
+                }
+                return super.visitTryResource(tryResource, closed);
+            }
+        }.visit(method.getBody(), closed);
+        return closed.get();
+    }
+
+    private static boolean isFactoryMethod(J.MethodDeclaration method) {
+        for (J.Annotation annotation : method.getLeadingAnnotations()) {
+            for (String factoryAnnotation : FACTORY_ANNOTATIONS) {
+                if (TypeUtils.isOfClassType(annotation.getType(), factoryAnnotation)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
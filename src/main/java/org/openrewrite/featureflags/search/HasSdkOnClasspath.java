@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.search;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.java.marker.JavaSourceSet;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.marker.SearchResult;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@EqualsAndHashCode(callSuper = false)
+@Value
+public class HasSdkOnClasspath extends Recipe {
+
+    /**
+     * The packages of the feature flag SDKs. Types of other packages, like wrappers around an SDK,
+     * may be declared in the sources of the source set itself rather than on its classpath.
+     */
+    private static final List<String> SDK_PACKAGES = Arrays.asList(
+            "com.launchdarkly.",
+            "dev.openfeature.",
+            "io.getunleash.",
+            "io.quarkiverse.flags.",
+            "org.ff4j.");
+
+    @Option(displayName = "Fully-qualified type name",
+            description = "A type of the SDK that has to be on the classpath of the source set.",
+            example = "com.launchdarkly.sdk.server.LDClient")
+    String fullyQualifiedTypeName;
+
+    String displayName = "Find source sets with a feature flag SDK on the classpath";
+
+    String description = "Marks source files whose source set has the SDK type on its classpath, " +
+                         "or whose classpath is not known. The classpath of each source set is only inspected once, " +
+                         "so that this can be used as a cheap precondition for source sets that cannot use the SDK at all.";
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        String typeName = fullyQualifiedTypeName.replace('$', '.');
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (!(tree instanceof SourceFile)) {
+                    return tree;
+                }
+                JavaSourceSet sourceSet = ((SourceFile) tree).getMarkers().findFirst(JavaSourceSet.class).orElse(null);
+                if (sourceSet == null || sourceSet.getClasspath().isEmpty()) {
+                    return SearchResult.found(tree);
+                }
+                Map<String, Boolean> onClasspath = ctx.computeMessageIfAbsent(HasSdkOnClasspath.class.getName(), k -> new ConcurrentHashMap<>());
+                if (onClasspath.computeIfAbsent(sourceSet.getId() + " " + typeName, k -> isOnClasspath(sourceSet, typeName))) {
+                    return SearchResult.found(tree);
+                }
+                return tree;
+            }
+        };
+    }
+
+    private static boolean isOnClasspath(JavaSourceSet sourceSet, String typeName) {
+        for (JavaType.FullyQualified type : sourceSet.getClasspath()) {
+            if (typeName.equals(type.getFullyQualifiedName().replace('$', '.'))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param methodPattern A method pattern of a feature flag SDK.
+     * @return A precondition on the declaring type of the method pattern being on the classpath,
+     * or a precondition that always passes when the declaring type is a wildcard or not a type of a known SDK.
+     */
+    public static TreeVisitor<?, ExecutionContext> forMethodPattern(String methodPattern) {
+        String declaringType = methodPattern.trim().split("[\\s#]", 2)[0];
+        if (declaringType.contains("*") || !isSdkType(declaringType)) {
+            return new TreeVisitor<Tree, ExecutionContext>() {
+                @Override
+                public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                    return tree instanceof SourceFile ? SearchResult.found(tree) : tree;
+                }
+            };
+        }
+        return new HasSdkOnClasspath(declaringType).getVisitor();
+    }
+
+    private static boolean isSdkType(String declaringType) {
+        for (String sdkPackage : SDK_PACKAGES) {
+            if (declaringType.startsWith(sdkPackage)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.search;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A HyperLogLog sketch of the number of distinct strings added to it, with a standard error of about 1.6%.
+ * <p>
+ * Most feature keys are evaluated in a handful of source files, so a sketch keeps its few non-empty registers
+ * in a small sparse array, and only allocates all of its registers once that fills up. Merging takes the maximum
+ * of each register, so it is associative and commutative, and the representation of a sketch only depends on
+ * the strings added to it and the sketches merged into it, not their order.
+ */
+public final class HyperLogLog {
+    private static final int PRECISION = 12;
+    private static final int REGISTERS = 1 << PRECISION;
+    private static final int SPARSE_LIMIT = REGISTERS / 16;
+
+    private int[] sparse = new int[4];
+    private int sparseSize;
+
+    private byte @Nullable [] dense;
+
+    public synchronized void add(String value) {
+        long hash = hash(value);
+        int index = (int) (hash >>> (64 - PRECISION));
+        int rank = Math.min(Long.numberOfLeadingZeros(hash << PRECISION), 64 - PRECISION) + 1;
+        offer(index, rank);
+    }
+
+    public void merge(HyperLogLog other) {
+        if (other == this) {
+            return;
+        }
+        int[] registers = other.snapshot();
+        synchronized (this) {
+            for (int i = 0; i < registers.length; i++) {
+                offer(registers[i] >>> 8, registers[i] & 0xFF);
+            }
+        }
+    }
+
+    public synchronized long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        if (dense != null) {
+            for (byte register : dense) {
+                sum += 1.0 / (1L << register);
+                if (register == 0) {
+                    zeros++;
+                }
+            }
+        } else {
+            zeros = REGISTERS - sparseSize;
+            sum = zeros;
+            for (int i = 0; i < sparseSize; i++) {
+                sum += 1.0 / (1L << (sparse[i] & 0xFF));
+            }
+        }
+        double alpha = 0.7213 / (1 + 1.079 / REGISTERS);
+        double estimate = alpha * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            // Linear counting is more accurate for small cardinalities
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    void write(DataOutput out) throws IOException {
+        int[] registers = snapshot();
+        boolean isDense = registers.length > SPARSE_LIMIT;
+        out.writeBoolean(isDense);
+        if (isDense) {
+            byte[] bytes = new byte[REGISTERS];
+            for (int register : registers) {
+                bytes[register >>> 8] = (byte) register;
+            }
+            out.write(bytes);
+        } else {
+            out.writeShort(registers.length);
+            for (int register : registers) {
+                out.writeShort(register >>> 8);
+                out.writeByte(register);
+            }
+        }
+    }
+
+    static HyperLogLog read(DataInput in) throws IOException {
+        HyperLogLog sketch = new HyperLogLog();
+        if (in.readBoolean()) {
+            byte[] bytes = new byte[REGISTERS];
+            in.readFully(bytes);
+            for (int index = 0; index < REGISTERS; index++) {
+                if (bytes[index] != 0) {
+                    sketch.offer(index, bytes[index]);
+                }
+            }
+        } else {
+            int size = in.readUnsignedShort();
+            for (int i = 0; i < size; i++) {
+                int index = in.readUnsignedShort();
+                sketch.offer(index, in.readUnsignedByte());
+            }
+        }
+        return sketch;
+    }
+
+    /**
+     * @return The non-empty registers sorted by index, each as its index shifted left by 8 bits and its rank.
+     */
+    private synchronized int[] snapshot() {
+        if (dense == null) {
+            int[] registers = Arrays.copyOf(sparse, sparseSize);
+            Arrays.sort(registers);
+            return registers;
+        }
+        int size = 0;
+        for (byte register : dense) {
+            if (register != 0) {
+                size++;
+            }
+        }
+        int[] registers = new int[size];
+        for (int index = 0, i = 0; index < REGISTERS; index++) {
+            if (dense[index] != 0) {
+                registers[i++] = index << 8 | dense[index];
+            }
+        }
+        return registers;
+    }
+
+    private void offer(int index, int rank) {
+        if (dense != null) {
+            if (dense[index] < rank) {
+                dense[index] = (byte) rank;
+            }
+            return;
+        }
+        for (int i = 0; i < sparseSize; i++) {
+            if (sparse[i] >>> 8 == index) {
+                if ((sparse[i] & 0xFF) < rank) {
+                    sparse[i] = index << 8 | rank;
+                }
+                return;
+            }
+        }
+        if (sparseSize == SPARSE_LIMIT) {
+            dense = new byte[REGISTERS];
+            for (int i = 0; i < sparseSize; i++) {
+                dense[sparse[i] >>> 8] = (byte) (sparse[i] & 0xFF);
+            }
+            dense[index] = (byte) rank;
+            sparse = new int[0];
+            sparseSize = 0;
+            return;
+        }
+        if (sparseSize == sparse.length) {
+            sparse = Arrays.copyOf(sparse, Math.min(sparse.length * 2, SPARSE_LIMIT));
+        }
+        sparse[sparseSize++] = index << 8 | rank;
+    }
+
+    /**
+     * A 64-bit FNV-1a hash of the characters, finished by the MurmurHash3 mix to spread it over all bits.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.search;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.featureflags.FeatureKeyMatcher;
+import org.openrewrite.featureflags.FeatureKeyMethods;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Collections.emptyList;
+
+@EqualsAndHashCode(callSuper = false)
+@Value
+public class IndexFeatureKeys extends ScanningRecipe<IndexFeatureKeys.Accumulator> {
+
+    @Option(displayName = "Index file",
+            description = "The local file to write the index to, which the removal recipes can restrict their run to.",
+            example = "build/feature-keys.idx")
+    String indexFile;
+
+    @Option(displayName = "Method pattern",
+            description = "A method pattern to match against. The first argument must be the feature key as `String`. " +
+                          "Defaults to the evaluation methods of all supported SDKs.",
+            example = "dev.openfeature.sdk.Client getBooleanValue(String, Boolean)",
+            required = false)
+    @Nullable
+    String methodPattern;
+
+    String displayName = "Index feature keys";
+
+    String description = "Write a sorted index from each feature key to the source files that evaluate it, " +
+                         "so that removing a feature flag only visits the source files that refer to its key.";
+
+    public static class Accumulator {
+        final Map<String, Set<String>> sourcePathsByKey = new ConcurrentHashMap<>();
+        final AtomicBoolean written = new AtomicBoolean();
+    }
+
+    @Override
+    public Accumulator getInitialValue(ExecutionContext ctx) {
+        return new Accumulator();
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(Accumulator acc) {
+        List<MethodMatcher> matchers = FeatureKeyMethods.matchers(methodPattern);
+        return Preconditions.check(FeatureKeyMethods.usesAny(matchers), new JavaIsoVisitor<ExecutionContext>() {
+            final FeatureKeyMatcher keyMatcher = new FeatureKeyMatcher();
+
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
+                if (FeatureKeyMethods.matches(matchers, m) && !m.getArguments().isEmpty()) {
+                    FeatureKeyMatcher.Resolution resolution = keyMatcher.resolve(getCursor(), m.getArguments().get(0), ctx);
+                    if (resolution != null) {
+                        String sourcePath = getCursor().firstEnclosingOrThrow(JavaSourceFile.class).getSourcePath().toString();
+                        acc.sourcePathsByKey
+                                .computeIfAbsent(resolution.getFeatureKey(), k -> ConcurrentHashMap.newKeySet())
+                                .add(sourcePath);
+                    }
+                }
+                return m;
+            }
+        });
+    }
+
+    @Override
+    public Collection<? extends SourceFile> generate(Accumulator acc, ExecutionContext ctx) {
+        if (acc.written.compareAndSet(false, true)) {
+            try {
+                FeatureKeyIndex.write(Paths.get(indexFile), acc.sourcePathsByKey);
+            } catch (IOException e) {
+                ctx.getOnError().accept(new UncheckedIOException(e));
+            }
+        }
+        return emptyList();
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.search;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.*;
+import org.openrewrite.featureflags.FeatureKeyMethods;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.marker.GitProvenance;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Collections.emptyList;
+
+@EqualsAndHashCode(callSuper = false)
+@Value
+public class SummarizeFeatureFlags extends ScanningRecipe<SummarizeFeatureFlags.Accumulator> {
+
+    @Option(displayName = "Summary file",
+            description = "The local file to write the summary to. The summaries of the shards of a fleet are merged " +
+                          "with `java org.openrewrite.featureflags.search.FeatureFlagSummary <merged> <summary>...`.",
+            example = "build/feature-flags.ffs")
+    String summaryFile;
+
+    @Option(displayName = "Method pattern",
+            description = "A method pattern to match against. The first argument must be the feature key as `String`. " +
+                          "Defaults to the evaluation methods of all supported SDKs.",
+            example = "dev.openfeature.sdk.Client getBooleanValue(String, Boolean)",
+            required = false)
+    @Nullable
+    String methodPattern;
+
+    String displayName = "Summarize feature flags";
+
+    String description = "Write a mergeable summary of the feature flag evaluations, with the number of evaluations, " +
+                         "repositories and source files of every feature key, so that the summaries of a fleet " +
+                         "inventoried in shards on separate nodes can be merged into the result of a single run.";
+
+    public static class Accumulator {
+        final FeatureFlagSummary summary = new FeatureFlagSummary();
+        final AtomicBoolean written = new AtomicBoolean();
+    }
+
+    @Override
+    public Accumulator getInitialValue(ExecutionContext ctx) {
+        return new Accumulator();
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(Accumulator acc) {
+        List<MethodMatcher> matchers = FeatureKeyMethods.matchers(methodPattern);
+        return Preconditions.check(FeatureKeyMethods.usesAny(matchers), new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (!(tree instanceof J.CompilationUnit)) {
+                    return tree;
+                }
+                J.CompilationUnit cu = (J.CompilationUnit) tree;
+                String repository = cu.getMarkers().findFirst(GitProvenance.class)
+                        .map(GitProvenance::getOrigin)
+                        .orElse("");
+                String sourcePath = cu.getSourcePath().toString();
+                for (FeatureFlagInventory.Evaluation evaluation : FeatureFlagInventory.findEvaluations(cu, matchers, ctx).values()) {
+                    if (evaluation.getFeatureKey() != null) {
+                        acc.summary.add(repository, sourcePath, evaluation.getFeatureKey(), evaluation.getProvider());
+                    }
+                }
+                return tree;
+            }
+        });
+    }
+
+    @Override
+    public Collection<? extends SourceFile> generate(Accumulator acc, ExecutionContext ctx) {
+        if (acc.written.compareAndSet(false, true)) {
+            try {
+                acc.summary.write(Paths.get(summaryFile));
+            } catch (IOException e) {
+                ctx.getOnError().accept(new UncheckedIOException(e));
+            }
+        }
+        return emptyList();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.search;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Tree;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.marker.SearchResult;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Collections.singleton;
+
+/**
+ * A precondition that only passes for source files that could refer to one of the given feature keys,
+ * as feature keys are only ever resolved from constants declared in the same source file.
+ * <p>
+ * That is the case when a string literal equals a feature key,
+ * or when a string literal is part of a concatenation and occurs in a feature key.
+ */
+public class UsesFeatureKey<P> extends JavaIsoVisitor<P> {
+    private final Set<String> featureKeys;
+
+    public UsesFeatureKey(String featureKey) {
+        this(singleton(featureKey));
+    }
+
+    public UsesFeatureKey(Collection<String> featureKeys) {
+        this.featureKeys = new HashSet<>(featureKeys);
+    }
+
+    @Override
+    public @Nullable J visit(@Nullable Tree tree, P p) {
+        if (tree instanceof JavaSourceFile) {
+            JavaSourceFile cu = (JavaSourceFile) tree;
+            AtomicBoolean found = new AtomicBoolean();
+            new JavaIsoVisitor<AtomicBoolean>() {
+                @Override
+                public @Nullable J visit(@Nullable Tree tree, AtomicBoolean found) {
+                    // Stop descending as soon as a candidate has been found
+                    return found.get() ? (J) tree : super.visit(tree, found);
+                }
+
+                @Override
+                public J.Literal visitLiteral(J.Literal literal, AtomicBoolean found) {
+                    if (literal.getValue() instanceof String) {
+                        String value = (String) literal.getValue();
+                        if (featureKeys.contains(value) || !value.isEmpty() && isConcatenated() && isPartOfFeatureKey(value)) {
+                            found.set(true);
+                        }
+                    }
+                    return literal;
+                }
+
+                private boolean isPartOfFeatureKey(String value) {
+                    for (String featureKey : featureKeys) {
+                        if (featureKey.contains(value)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+
+                private boolean isConcatenated() {
+                    Object parent = getCursor().getParentTreeCursor().getValue();
+                    return parent instanceof J.Binary && ((J.Binary) parent).getOperator() == J.Binary.Type.Addition;
+                }
+            }.visit(cu, found);
+            return found.get() ? SearchResult.found(cu) : cu;
+        }
+        return (J) tree;
+    }
+}
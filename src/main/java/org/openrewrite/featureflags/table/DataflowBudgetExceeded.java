@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.table;
+
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Column;
+import org.openrewrite.Recipe;
+
+public class DataflowBudgetExceeded extends StreamingDataTable<DataflowBudgetExceeded.Row> {
+
+    public DataflowBudgetExceeded(Recipe recipe) {
+        this(recipe, null, null);
+    }
+
+    public DataflowBudgetExceeded(Recipe recipe, @Nullable String directory, @Nullable Boolean compress) {
+        super(recipe,
+                "Dataflow budget exceeded",
+                "Source files in which feature keys were only matched on literal arguments, " +
+                "as the dataflow analysis exceeded its budget.",
+                directory, compress);
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Recipe",
+                description = "The name of the recipe.")
+        String recipe;
+
+        @Column(displayName = "Source path",
+                description = "The path of the source file.")
+        String sourcePath;
+
+        @Column(displayName = "Budget (ms)",
+                description = "The dataflow budget of each source file.")
+        Integer budget;
+
+        @Column(displayName = "Dataflow time (ms)",
+                description = "The time spent on dataflow analysis before falling back to literal arguments.")
+        Long spent;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.table;
+
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Column;
+import org.openrewrite.Recipe;
+
+public class FeatureFlagCallSites extends StreamingDataTable<FeatureFlagCallSites.Row> {
+
+    public FeatureFlagCallSites(Recipe recipe) {
+        this(recipe, null, null);
+    }
+
+    public FeatureFlagCallSites(Recipe recipe, @Nullable String directory, @Nullable Boolean compress) {
+        super(recipe,
+                "Feature flag call sites",
+                "Every evaluation of a feature flag, with its feature key where it is a constant.",
+                directory, compress);
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Source path",
+                description = "The path of the source file.")
+        String sourcePath;
+
+        @Column(displayName = "Provider",
+                description = "The fully qualified name of the feature flag SDK type the evaluation is declared on.")
+        String provider;
+
+        @Column(displayName = "Method",
+                description = "The name of the evaluation method.")
+        String method;
+
+        @Column(displayName = "Feature key",
+                description = "The feature key, or empty when it is not a constant.")
+        String featureKey;
+
+        @Column(displayName = "Line",
+                description = "The line of the evaluation, starting at 1.")
+        Integer line;
+
+        @Column(displayName = "Column",
+                description = "The column of the evaluation, starting at 1.")
+        Integer column;
+
+        @Column(displayName = "Cached",
+                description = "Whether the call site was read from the cache rather than found by analyzing the source file.")
+        Boolean cached;
+    }
+}
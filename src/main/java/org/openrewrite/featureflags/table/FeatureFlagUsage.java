@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.table;
+
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Column;
+import org.openrewrite.Recipe;
+
+public class FeatureFlagUsage extends StreamingDataTable<FeatureFlagUsage.Row> {
+
+    public FeatureFlagUsage(Recipe recipe) {
+        this(recipe, null, null);
+    }
+
+    public FeatureFlagUsage(Recipe recipe, @Nullable String directory, @Nullable Boolean compress) {
+        super(recipe,
+                "Feature flag usage",
+                "Whether the repository evaluates a feature flag, with the first source file found to do so.",
+                directory, compress);
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Method pattern",
+                description = "The method pattern of the feature flag evaluations searched for.")
+        String methodPattern;
+
+        @Column(displayName = "Feature key",
+                description = "The feature key searched for, or empty for any feature key.")
+        String featureKey;
+
+        @Column(displayName = "Used",
+                description = "Whether the repository evaluates the feature flag.")
+        Boolean used;
+
+        @Column(displayName = "Source path",
+                description = "The first source file found to evaluate the feature flag, or empty when it is not used.")
+        String sourcePath;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.table;
+
+import lombok.Value;
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.Column;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+
+public class RecipeCost extends StreamingDataTable<RecipeCost.Row> {
+
+    public RecipeCost(Recipe recipe) {
+        this(recipe, null, null);
+    }
+
+    public RecipeCost(Recipe recipe, @Nullable String directory, @Nullable Boolean compress) {
+        super(recipe,
+                "Feature flag recipe cost",
+                "The work a feature flag recipe did on each source file, per cycle. " +
+                "Only collected when the `collectRecipeCosts` option of the recipe is enabled.",
+                directory, compress);
+    }
+
+    /**
+     * Source files changed in one cycle are visited again in the next, which is recorded as a row of its own.
+     */
+    @Override
+    protected boolean allowWritingInThisCycle(ExecutionContext ctx) {
+        return true;
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Recipe",
+                description = "The name of the recipe.")
+        String recipe;
+
+        @Column(displayName = "Source path",
+                description = "The path of the source file.")
+        String sourcePath;
+
+        @Column(displayName = "Cycle",
+                description = "The recipe run cycle in which the source file was visited.")
+        Integer cycle;
+
+        @Column(displayName = "Wall time (ns)",
+                description = "The time spent visiting the source file, including queued cleanup visitors.")
+        Long wallTime;
+
+        @Column(displayName = "Matched invocations",
+                description = "The number of feature flag evaluations matched in the source file.")
+        Integer matchedInvocations;
+
+        @Column(displayName = "Key resolutions",
+                description = "The number of feature key arguments resolved to a constant value.")
+        Integer keyResolutions;
+
+        @Column(displayName = "Dataflow invocations",
+                description = "The number of dataflow analyses from a feature key to an evaluation.")
+        Integer dataflowInvocations;
+
+        @Column(displayName = "Cleanup visitors",
+                description = "The number of cleanup visitors queued after replacements.")
+        Integer cleanupVisitors;
+
+        @Column(displayName = "Literal keys",
+                description = "The number of feature key arguments resolved as a literal.")
+        Integer literalKeys;
+
+        @Column(displayName = "Constant keys",
+                description = "The number of feature key arguments resolved through a constant declared in the source file.")
+        Integer constantKeys;
+
+        @Column(displayName = "Folded keys",
+                description = "The number of feature key arguments resolved by constant folding.")
+        Integer foldedKeys;
+
+        @Column(displayName = "Dataflow keys",
+                description = "The number of feature keys found to flow into an evaluation by dataflow analysis.")
+        Integer dataflowKeys;
+
+        @Column(displayName = "Changed",
+                description = "Whether the recipe changed the source file.")
+        Boolean changed;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.table;
+
+import org.jspecify.annotations.Nullable;
+import org.openrewrite.DataTable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.config.ColumnDescriptor;
+import org.openrewrite.internal.RecipeIntrospectionUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * A data table that can stream its rows to a local CSV file as they are inserted, rather than collect them
+ * in memory until the run ends, so that an inventory of millions of call sites runs in constant memory.
+ * <p>
+ * Streaming is opt-in, by the {@code dataTableDirectory} option of the recipe that owns the table, which passes
+ * it to the table when constructing it. Each table is then written to a file named after it in that directory,
+ * which the first row of a run replaces. With the {@code compressDataTables} option, the file is gzip compressed,
+ * as a concatenation of one gzip member per batch of rows, which gzip and {@link java.util.zip.GZIPInputStream}
+ * read as one stream. The columns are written in the order of the data table descriptor of the table.
+ * <p>
+ * Streamed rows are not kept in the execution context, so they are missing from the data tables of the recipe run.
+ */
+public abstract class StreamingDataTable<Row> extends DataTable<Row> {
+
+    @Nullable
+    private final String directory;
+
+    private final boolean compress;
+
+    protected StreamingDataTable(Recipe recipe, String displayName, String description) {
+        this(recipe, displayName, description, null, null);
+    }
+
+    /**
+     * @param directory The directory to stream the rows to, or {@code null} to collect them in memory.
+     * @param compress  Whether to gzip compress the streamed rows.
+     */
+    protected StreamingDataTable(Recipe recipe, String displayName, String description,
+                                 @Nullable String directory, @Nullable Boolean compress) {
+        super(recipe, displayName, description);
+        this.directory = directory;
+        this.compress = Boolean.TRUE.equals(compress);
+    }
+
+    @Override
+    public void insertRow(ExecutionContext ctx, Row row) {
+        insertRows(ctx, singletonList(row));
+    }
+
+    /**
+     * Inserts the rows found in a source file as a single batch, which compresses better than single rows.
+     */
+    public void insertRows(ExecutionContext ctx, List<Row> rows) {
+        if (rows.isEmpty() || !allowWritingInThisCycle(ctx)) {
+            return;
+        }
+        if (directory == null) {
+            for (Row row : rows) {
+                super.insertRow(ctx, row);
+            }
+            return;
+        }
+        Path file = Paths.get(directory).resolve(getName() + (compress ? ".csv.gz" : ".csv"));
+        Sink sink = ctx.computeMessageIfAbsent(Sink.class.getName() + "." + file.toAbsolutePath(), k -> new Sink(file, compress));
+        try {
+            sink.write(this, rows);
+        } catch (UncheckedIOException e) {
+            ctx.getOnError().accept(e);
+        }
+    }
+
+    private static final class Sink {
+        private final Path file;
+        private final boolean compress;
+        private boolean started;
+
+        @Nullable
+        private List<Field> columns;
+
+        @Nullable
+        private List<String> header;
+
+        Sink(Path file, boolean compress) {
+            this.file = file;
+            this.compress = compress;
+        }
+
+        synchronized void write(DataTable<?> table, List<?> rows) {
+            try {
+                StringBuilder csv = new StringBuilder();
+                if (columns == null || header == null) {
+                    columns = new ArrayList<>();
+                    header = new ArrayList<>();
+                    for (ColumnDescriptor column : RecipeIntrospectionUtils.dataTableDescriptorFromDataTable(table).getColumns()) {
+                        Field field = table.getType().getDeclaredField(column.getName());
+                        field.setAccessible(true);
+                        columns.add(field);
+                        header.add(column.getDisplayName());
+                    }
+                }
+                if (!started) {
+                    for (int i = 0; i < header.size(); i++) {
+                        appendValue(csv, i, header.get(i));
+                    }
+                    csv.append('\n');
+                }
+                for (Object row : rows) {
+                    for (int i = 0; i < columns.size(); i++) {
+                        appendValue(csv, i, columns.get(i).get(row));
+                    }
+                    csv.append('\n');
+                }
+
+                byte[] bytes = csv.toString().getBytes(StandardCharsets.UTF_8);
+                if (compress) {
+                    ByteArrayOutputStream member = new ByteArrayOutputStream(bytes.length / 4 + 64);
+                    try (OutputStream gzip = new GZIPOutputStream(member)) {
+                        gzip.write(bytes);
+                    }
+                    bytes = member.toByteArray();
+                }
+                if (started) {
+                    Files.write(file, bytes, StandardOpenOption.APPEND);
+                } else {
+                    Files.createDirectories(file.toAbsolutePath().getParent());
+                    Files.write(file, bytes);
+                    started = true;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (NoSuchFieldException | IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static void appendValue(StringBuilder csv, int column, @Nullable Object value) {
+            if (column > 0) {
+                csv.append(',');
+            }
+            if (value == null) {
+                return;
+            }
+            String text = value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                csv.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else {
+                csv.append(text);
+            }
+        }
+    }
+}
@@ -15,11 +15,13 @@
  */
 package org.openrewrite.featureflags.unleash.search;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 import org.jspecify.annotations.Nullable;
 import org.openrewrite.Option;
 import org.openrewrite.Recipe;
+import org.openrewrite.featureflags.search.FindFeatureFlagUsage;
 
 import java.util.List;
 
@@ -36,12 +38,32 @@ public class FindFeatureFlag extends Recipe {
     @Nullable
     String featureKey;
 
+    @Option(displayName = "Existence only",
+            description = "Only report whether the repository evaluates the feature flag in the `FeatureFlagUsage` data table, " +
+                          "stopping at the first evaluation found, rather than marking every evaluation.",
+            required = false)
+    @Nullable
+    Boolean existenceOnly;
+
     String displayName = "Find an Unleash feature flag";
 
     String description = "Find an Unleash feature flag.";
 
+    public FindFeatureFlag(@Nullable String featureKey) {
+        this(featureKey, null);
+    }
+
+    @JsonCreator
+    public FindFeatureFlag(@Nullable String featureKey, @Nullable Boolean existenceOnly) {
+        this.featureKey = featureKey;
+        this.existenceOnly = existenceOnly;
+    }
+
     @Override
     public List<Recipe> getRecipeList() {
+        if (Boolean.TRUE.equals(existenceOnly)) {
+            return singletonList(new FindFeatureFlagUsage("io.getunleash.Unleash isEnabled(String, ..)", featureKey));
+        }
         return singletonList(new org.openrewrite.featureflags.search.FindFeatureFlag(
                 "io.getunleash.Unleash isEnabled(String, ..)", featureKey));
     }
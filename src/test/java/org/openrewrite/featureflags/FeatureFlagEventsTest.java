@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+import org.openrewrite.test.SourceSpec;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.openrewrite.java.Assertions.java;
+
+class FeatureFlagEventsTest implements RewriteTest {
+    private static final String MATCHING = "org.openrewrite.featureflags.Matching";
+    private static final String KEY_RESOLUTION = "org.openrewrite.featureflags.KeyResolution";
+    private static final String CLEANUP = "org.openrewrite.featureflags.Cleanup";
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(new RemoveBooleanFlag("com.acme.bank.CustomLaunchDarklyWrapper featureFlagEnabled(String, boolean)", "flag-key-123abc", true));
+    }
+
+    @Test
+    void commitsEventsOfEachPhase(@TempDir Path tempDir) throws Exception {
+        assumeTrue(FlightRecorder.isAvailable(), "Flight Recorder is not available");
+
+        Path dump = tempDir.resolve("feature-flags.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(MATCHING);
+            recording.enable(KEY_RESOLUTION);
+            recording.enable(CLEANUP);
+            recording.start();
+            // Whether an event type is recorded is only checked once a second
+            Thread.sleep(1100);
+            removeFlag();
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        assertThat(events)
+          .extracting(event -> event.getEventType().getName())
+          .contains(MATCHING, KEY_RESOLUTION, CLEANUP);
+        assertThat(events)
+          .filteredOn(event -> MATCHING.equals(event.getEventType().getName()) && "Foo.java".equals(event.getString("sourcePath")))
+          .first()
+          .satisfies(event -> {
+              assertThat(event.getString("recipe")).isEqualTo("org.openrewrite.featureflags.RemoveBooleanFlag");
+              assertThat(event.getInt("count")).isEqualTo(1);
+          });
+    }
+
+    private void removeFlag() {
+        rewriteRun(
+          // language=java
+          java(
+            """
+              package com.acme.bank;
+
+              public class CustomLaunchDarklyWrapper {
+                  public boolean featureFlagEnabled(String key, boolean fallback) {
+                      return fallback;
+                  }
+              }
+              """,
+            SourceSpec::skip
+          ),
+          // language=java
+          java(
+            """
+              import com.acme.bank.CustomLaunchDarklyWrapper;
+              class Foo {
+                  private CustomLaunchDarklyWrapper wrapper = new CustomLaunchDarklyWrapper();
+                  void bar() {
+                      if (wrapper.featureFlagEnabled("flag-key-123abc", false)) {
+                          System.out.println("Feature is on");
+                      }
+                  }
+              }
+              """,
+            """
+              class Foo {
+                  void bar() {
+                      System.out.println("Feature is on");
+                  }
+              }
+              """
+          )
+        );
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.marker.SearchResult;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+import static org.openrewrite.test.RewriteTest.toRecipe;
+
+class FeatureKeyMatcherTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        MethodMatcher isEnabled = new MethodMatcher("com.acme.FeatureFlag isEnabled(String)");
+        spec.recipe(toRecipe(() -> new JavaIsoVisitor<ExecutionContext>() {
+              final FeatureKeyMatcher keyMatcher = new FeatureKeyMatcher();
+
+              @Override
+              public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                  J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
+                  if (isEnabled.matches(m)) {
+                      FeatureKeyMatcher.Tier tier = keyMatcher.match(getCursor(), method.getArguments().get(0), "flag-key-123abc", ctx);
+                      return tier == null ? m : SearchResult.found(m, tier.name());
+                  }
+                  return m;
+              }
+          }))
+          //language=java
+          .parser(JavaParser.fromJavaVersion().dependsOn(
+            """
+              package com.acme;
+              public class FeatureFlag {
+                  public boolean isEnabled(String key) {
+                      return false;
+                  }
+              }
+              """
+          ));
+    }
+
+    @Test
+    void reportsTierThatResolvedKey() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import com.acme.FeatureFlag;
+
+              class Test {
+                  private static final String KEY = "flag-key-123abc";
+                  private static final String OTHER_KEY = "flag-key-789def";
+
+                  void a(FeatureFlag client) {
+                      client.isEnabled("flag-key-123abc");
+                      client.isEnabled(KEY);
+                      client.isEnabled(Test.KEY);
+                      client.isEnabled("flag-key-" + "123abc");
+                      client.isEnabled(OTHER_KEY);
+                      client.isEnabled("flag-key-789def");
+                  }
+              }
+              """,
+            """
+              import com.acme.FeatureFlag;
+
+              class Test {
+                  private static final String KEY = "flag-key-123abc";
+                  private static final String OTHER_KEY = "flag-key-789def";
+
+                  void a(FeatureFlag client) {
+                      /*~~(LITERAL)~~>*/client.isEnabled("flag-key-123abc");
+                      /*~~(CONSTANT)~~>*/client.isEnabled(KEY);
+                      /*~~(CONSTANT)~~>*/client.isEnabled(Test.KEY);
+                      /*~~(CONSTANT_FOLD)~~>*/client.isEnabled("flag-key-" + "123abc");
+                      client.isEnabled(OTHER_KEY);
+                      client.isEnabled("flag-key-789def");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void sameNamedLocalThatIsNotFinalIsNotResolved() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import com.acme.FeatureFlag;
+
+              class Test {
+                  void a(FeatureFlag client) {
+                      {
+                          final String key = "flag-key-123abc";
+                          client.isEnabled(key);
+                      }
+                      {
+                          String key = compute();
+                          client.isEnabled(key);
+                      }
+                  }
+
+                  String compute() {
+                      return "flag-key-789def";
+                  }
+              }
+              """,
+            """
+              import com.acme.FeatureFlag;
+
+              class Test {
+                  void a(FeatureFlag client) {
+                      {
+                          final String key = "flag-key-123abc";
+                          /*~~(CONSTANT_FOLD)~~>*/client.isEnabled(key);
+                      }
+                      {
+                          String key = compute();
+                          client.isEnabled(key);
+                      }
+                  }
+
+                  String compute() {
+                      return "flag-key-789def";
+                  }
+              }
+              """
+          )
+        );
+    }
+}
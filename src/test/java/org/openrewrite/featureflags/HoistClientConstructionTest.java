@@ -0,0 +1,194 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+
+class HoistClientConstructionTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(new HoistClientConstruction())
+          .parser(JavaParser.fromJavaVersion().classpath("ff4j-core"));
+    }
+
+    @DocumentExample
+    @Test
+    void hoistToHolder() {
+        rewriteRun(
+          // language=java
+          java(
+            """
+              import org.ff4j.FF4j;
+
+              class Foo {
+                  boolean handle() {
+                      FF4j ff4j = new FF4j();
+                      return ff4j.check("flag-key-123abc");
+                  }
+              }
+              """,
+            """
+              import org.ff4j.FF4j;
+
+              class Foo {
+                  boolean handle() {
+                      FF4j ff4j = FF4jHolder.INSTANCE;
+                      return ff4j.check("flag-key-123abc");
+                  }
+
+                  private static final class FF4jHolder {
+                      static final FF4j INSTANCE = new FF4j();
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void keepConstructionDependingOnParameters() {
+        rewriteRun(
+          spec -> spec.parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "launchdarkly-java-server-sdk-6.+")),
+          // language=java
+          java(
+            """
+              import com.launchdarkly.sdk.LDContext;
+              import com.launchdarkly.sdk.server.LDClient;
+
+              class Foo {
+                  boolean handle(String sdkKey, LDContext context) {
+                      LDClient client = new LDClient(sdkKey);
+                      return client.boolVariation("flag-key-123abc", context, false);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void keepConstructionReadingStaticFieldThatIsNotFinal() {
+        rewriteRun(
+          // language=java
+          java(
+            """
+              import org.ff4j.FF4j;
+
+              class Foo {
+                  static String configFile = "ff4j.xml";
+
+                  boolean handle() {
+                      FF4j ff4j = new FF4j(configFile);
+                      return ff4j.check("flag-key-123abc");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void keepConstructionInLocalClass() {
+        rewriteRun(
+          // language=java
+          java(
+            """
+              import org.ff4j.FF4j;
+
+              class Foo {
+                  boolean handle() {
+                      class Handler {
+                          boolean handle() {
+                              FF4j ff4j = new FF4j();
+                              return ff4j.check("flag-key-123abc");
+                          }
+                      }
+                      return new Handler().handle();
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void keepLaunchDarklyClientClosedAfterUse() {
+        rewriteRun(
+          spec -> spec.parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "launchdarkly-java-server-sdk-6.+")),
+          // language=java
+          java(
+            """
+              import com.launchdarkly.sdk.LDContext;
+              import com.launchdarkly.sdk.server.LDClient;
+
+              import java.io.IOException;
+
+              class Foo {
+                  boolean withResource(LDContext context) throws IOException {
+                      try (LDClient client = new LDClient("sdk-key-123abc")) {
+                          return client.boolVariation("flag-key-123abc", context, false);
+                      }
+                  }
+
+                  boolean withClose(LDContext context) throws IOException {
+                      LDClient client = new LDClient("sdk-key-123abc");
+                      boolean enabled = client.boolVariation("flag-key-123abc", context, false);
+                      client.close();
+                      return enabled;
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void keepUnleashClientShutDownAfterUse() {
+        rewriteRun(
+          spec -> spec.parser(JavaParser.fromJavaVersion().classpath("unleash-client-java")),
+          // language=java
+          java(
+            """
+              import io.getunleash.DefaultUnleash;
+              import io.getunleash.Unleash;
+              import io.getunleash.util.UnleashConfig;
+
+              class Foo {
+                  boolean handle() {
+                      Unleash unleash = new DefaultUnleash(UnleashConfig.builder()
+                        .appName("checkout")
+                        .unleashAPI("https://unleash.example.com/api")
+                        .build());
+                      boolean enabled = unleash.isEnabled("flag-key-123abc");
+                      unleash.shutdown();
+                      return enabled;
+                  }
+              }
+              """
+          )
+        );
+    }
+}
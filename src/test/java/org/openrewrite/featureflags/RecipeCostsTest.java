@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.featureflags.table.RecipeCost;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+import org.openrewrite.test.SourceSpec;
+import org.openrewrite.test.SourceSpecs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class RecipeCostsTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(new RemoveBooleanFlag("com.acme.bank.CustomLaunchDarklyWrapper featureFlagEnabled(String, boolean)", "flag-key-123abc", true, null, true));
+    }
+
+    @Test
+    void recordsCostOfEachSourceFile() {
+        rewriteRun(
+          spec -> spec.dataTable(RecipeCost.Row.class, rows -> assertThat(rows)
+              .filteredOn(row -> "Foo.java".equals(row.getSourcePath()) && row.getChanged())
+              .singleElement()
+              .satisfies(row -> {
+                  assertThat(row.getRecipe()).isEqualTo("org.openrewrite.featureflags.RemoveBooleanFlag");
+                  assertThat(row.getCycle()).isEqualTo(1);
+                  assertThat(row.getWallTime()).isPositive();
+                  assertThat(row.getMatchedInvocations()).isEqualTo(1);
+                  assertThat(row.getKeyResolutions()).isEqualTo(1);
+                  assertThat(row.getDataflowInvocations()).isZero();
+                  assertThat(row.getCleanupVisitors()).isEqualTo(4);
+                  assertThat(row.getChanged()).isTrue();
+              })),
+          wrapper(),
+          // language=java
+          java(
+            """
+              import com.acme.bank.CustomLaunchDarklyWrapper;
+              class Foo {
+                  private CustomLaunchDarklyWrapper wrapper = new CustomLaunchDarklyWrapper();
+                  void bar() {
+                      if (wrapper.featureFlagEnabled("flag-key-123abc", false)) {
+                          System.out.println("Feature is on");
+                      }
+                  }
+              }
+              """,
+            """
+              class Foo {
+                  void bar() {
+                      System.out.println("Feature is on");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void oneRowPerSourceFileAndCycle() {
+        rewriteRun(
+          spec -> spec.dataTable(RecipeCost.Row.class, rows -> assertThat(rows)
+              .filteredOn(row -> "Foo.java".equals(row.getSourcePath()))
+              .extracting(RecipeCost.Row::getCycle)
+              .containsExactly(1, 2)),
+          wrapper(),
+          // language=java
+          java(
+            """
+              import com.acme.bank.CustomLaunchDarklyWrapper;
+              class Foo {
+                  private CustomLaunchDarklyWrapper wrapper = new CustomLaunchDarklyWrapper();
+                  void bar() {
+                      if (wrapper.featureFlagEnabled("flag-key-123abc", false)) {
+                          System.out.println("Feature is on");
+                      }
+                  }
+              }
+              """,
+            """
+              class Foo {
+                  void bar() {
+                      System.out.println("Feature is on");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void notCollectedUnlessEnabled() {
+        rewriteRun(
+          spec -> spec.recipe(new RemoveBooleanFlag("com.acme.bank.CustomLaunchDarklyWrapper featureFlagEnabled(String, boolean)", "flag-key-123abc", true))
+            .afterRecipe(run -> assertThat(run.getDataTable(RecipeCost.class.getName())).isNull()),
+          wrapper(),
+          // language=java
+          java(
+            """
+              import com.acme.bank.CustomLaunchDarklyWrapper;
+              class Foo {
+                  private CustomLaunchDarklyWrapper wrapper = new CustomLaunchDarklyWrapper();
+                  void bar() {
+                      if (wrapper.featureFlagEnabled("flag-key-123abc", false)) {
+                          System.out.println("Feature is on");
+                      }
+                  }
+              }
+              """,
+            """
+              class Foo {
+                  void bar() {
+                      System.out.println("Feature is on");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    private static SourceSpecs wrapper() {
+        // language=java
+        return java(
+          """
+            package com.acme.bank;
+
+            public class CustomLaunchDarklyWrapper {
+                public boolean featureFlagEnabled(String key, boolean fallback) {
+                    return fallback;
+                }
+            }
+            """,
+          SourceSpec::skip
+        );
+    }
+}
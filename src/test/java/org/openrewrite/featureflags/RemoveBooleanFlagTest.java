@@ -18,6 +18,8 @@ package org.openrewrite.featureflags;
 import org.junit.jupiter.api.Test;
 import org.openrewrite.DocumentExample;
 import org.openrewrite.Issue;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.marker.JavaSourceSet;
 import org.openrewrite.test.RewriteTest;
 import org.openrewrite.test.SourceSpec;
 
@@ -74,6 +76,49 @@ class RemoveBooleanFlagTest implements RewriteTest {
         );
     }
 
+    @Test
+    void customMethodPatternForWrapperInSourceSet() {
+        JavaSourceSet sourceSet = JavaSourceSet.build("main", JavaParser.dependenciesFromClasspath("ff4j-core"));
+        rewriteRun(
+          spec -> spec.recipe(new RemoveBooleanFlag("com.acme.bank.CustomLaunchDarklyWrapper featureFlagEnabled(String, boolean)", "flag-key-123abc", true)),
+          // language=java
+          java(
+            """
+              package com.acme.bank;
+
+              public class CustomLaunchDarklyWrapper {
+                  public boolean featureFlagEnabled(String key, boolean fallback) {
+                      return fallback;
+                  }
+              }
+              """,
+            spec -> spec.skip().markers(sourceSet)
+          ),
+          // language=java
+          java(
+            """
+              import com.acme.bank.CustomLaunchDarklyWrapper;
+              class Foo {
+                  private CustomLaunchDarklyWrapper wrapper = new CustomLaunchDarklyWrapper();
+                  void bar() {
+                      if (wrapper.featureFlagEnabled("flag-key-123abc", false)) {
+                          System.out.println("Feature is on");
+                      }
+                  }
+              }
+              """,
+            """
+              class Foo {
+                  void bar() {
+                      System.out.println("Feature is on");
+                  }
+              }
+              """,
+            spec -> spec.markers(sourceSet)
+          )
+        );
+    }
+
     @Issue("https://github.com/openrewrite/rewrite-feature-flags/issues/23")
     @Test
     void customMethodPatternNoConstants() {
@@ -0,0 +1,359 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+import static org.openrewrite.java.Assertions.mavenProject;
+import static org.openrewrite.java.Assertions.srcMainJava;
+import static org.openrewrite.maven.Assertions.pomXml;
+
+class RemoveUnusedClientsTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        //language=java
+        spec.recipe(new RemoveUnusedClients())
+          .parser(JavaParser.fromJavaVersion()
+            .classpath("unleash-client-java")
+            .dependsOn(
+              """
+                package org.springframework.context.annotation;
+                public @interface Bean {}
+                """,
+              """
+                package org.springframework.context.annotation;
+                public @interface Configuration {}
+                """,
+              """
+                package org.springframework.stereotype;
+                public @interface Service {}
+                """
+            ));
+    }
+
+    @DocumentExample
+    @Test
+    void removeUnusedClient() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import io.getunleash.Unleash;
+              import org.springframework.stereotype.Service;
+
+              @Service
+              class CheckoutService {
+                  private final Unleash unleash;
+                  private final String currency;
+
+                  CheckoutService(Unleash unleash, String currency) {
+                      this.unleash = unleash;
+                      this.currency = currency;
+                  }
+
+                  String currency() {
+                      return currency;
+                  }
+              }
+              """,
+            """
+              import org.springframework.stereotype.Service;
+
+              @Service
+              class CheckoutService {
+                  private final String currency;
+
+                  CheckoutService(String currency) {
+                      this.currency = currency;
+                  }
+
+                  String currency() {
+                      return currency;
+                  }
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              import io.getunleash.FakeUnleash;
+              import io.getunleash.Unleash;
+              import org.springframework.context.annotation.Bean;
+              import org.springframework.context.annotation.Configuration;
+
+              @Configuration
+              class FlagConfiguration {
+                  @Bean
+                  Unleash unleash() {
+                      return new FakeUnleash();
+                  }
+
+                  @Bean
+                  String currency() {
+                      return "EUR";
+                  }
+              }
+              """,
+            """
+              import org.springframework.context.annotation.Bean;
+              import org.springframework.context.annotation.Configuration;
+
+              @Configuration
+              class FlagConfiguration {
+                  @Bean
+                  String currency() {
+                      return "EUR";
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void removeUnreadPrivateFieldOfUsedClient() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import io.getunleash.Unleash;
+
+              class Checkout {
+                  private final Unleash unleash;
+
+                  Checkout(Unleash unleash) {
+                      this.unleash = unleash;
+                  }
+
+                  boolean enabled() {
+                      return unleash.isEnabled("flag-key-123abc");
+                  }
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              import io.getunleash.Unleash;
+
+              class Audit {
+                  private final Unleash unleash;
+
+                  Audit(Unleash unleash) {
+                      this.unleash = unleash;
+                  }
+              }
+              """,
+            """
+              import io.getunleash.Unleash;
+
+              class Audit {
+                  Audit(Unleash unleash) {
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void removeShutdownOfUnusedClient() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import io.getunleash.Unleash;
+
+              class Lifecycle {
+                  private Unleash unleash;
+
+                  void start(int port) {
+                  }
+
+                  void stop() {
+                      unleash.shutdown();
+                  }
+              }
+              """,
+            """
+              class Lifecycle {
+                  void start(int port) {
+                  }
+
+                  void stop() {
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void keepParameterOfExplicitlyCalledConstructor() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import io.getunleash.Unleash;
+
+              class CheckoutService {
+                  private final Unleash unleash;
+                  private final String currency;
+
+                  CheckoutService(Unleash unleash, String currency) {
+                      this.unleash = unleash;
+                      this.currency = currency;
+                  }
+
+                  String currency() {
+                      return currency;
+                  }
+              }
+              """,
+            """
+              import io.getunleash.Unleash;
+
+              class CheckoutService {
+                  private final String currency;
+
+                  CheckoutService(Unleash unleash, String currency) {
+                      this.currency = currency;
+                  }
+
+                  String currency() {
+                      return currency;
+                  }
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              class CheckoutServiceTest {
+                  String currency() {
+                      return new CheckoutService(null, "EUR").currency();
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void keepClientPassedToOtherCode() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import io.getunleash.Unleash;
+
+              class Flags {
+                  private final Unleash unleash;
+
+                  Flags(Unleash unleash) {
+                      this.unleash = unleash;
+                  }
+
+                  Object provider() {
+                      return wrap(unleash);
+                  }
+
+                  static Object wrap(Unleash unleash) {
+                      return unleash;
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void removeDependency() {
+        rewriteRun(
+          spec -> spec.recipeFromResource("/META-INF/rewrite/feature-flags.yml", "org.openrewrite.featureflags.RemoveUnusedFeatureFlagClients")
+            .cycles(2)
+            .expectedCyclesThatMakeChanges(2),
+          mavenProject("demo",
+            srcMainJava(
+              //language=java
+              java(
+                """
+                  import io.getunleash.Unleash;
+
+                  class Checkout {
+                      private final Unleash unleash;
+
+                      Checkout(Unleash unleash) {
+                          this.unleash = unleash;
+                      }
+                  }
+                  """,
+                """
+                  class Checkout {
+                      Checkout() {
+                      }
+                  }
+                  """
+              )
+            ),
+            //language=xml
+            pomXml(
+              """
+                <project>
+                  <modelVersion>4.0.0</modelVersion>
+                  <groupId>com.example</groupId>
+                  <artifactId>demo</artifactId>
+                  <version>0.0.1-SNAPSHOT</version>
+                  <dependencies>
+                    <dependency>
+                      <groupId>io.getunleash</groupId>
+                      <artifactId>unleash-client-java</artifactId>
+                      <version>9.2.0</version>
+                    </dependency>
+                    <dependency>
+                      <groupId>org.apache.commons</groupId>
+                      <artifactId>commons-lang3</artifactId>
+                      <version>3.14.0</version>
+                    </dependency>
+                  </dependencies>
+                </project>
+                """,
+              """
+                <project>
+                  <modelVersion>4.0.0</modelVersion>
+                  <groupId>com.example</groupId>
+                  <artifactId>demo</artifactId>
+                  <version>0.0.1-SNAPSHOT</version>
+                  <dependencies>
+                    <dependency>
+                      <groupId>org.apache.commons</groupId>
+                      <artifactId>commons-lang3</artifactId>
+                      <version>3.14.0</version>
+                    </dependency>
+                  </dependencies>
+                </project>
+                """
+            )
+          )
+        );
+    }
+}
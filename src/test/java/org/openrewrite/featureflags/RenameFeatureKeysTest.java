@@ -0,0 +1,193 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.Map;
+
+import static org.openrewrite.java.Assertions.java;
+
+class RenameFeatureKeysTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(new RenameFeatureKeys(Map.of(
+            "flag-key-123abc", "project-a.flag-key-123abc",
+            "flag-key-456def", "project-a.flag-key-456def"), null))
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "launchdarkly-java-server-sdk-6.+")
+            .classpath("unleash-client-java"));
+    }
+
+    @DocumentExample
+    @Test
+    void renameLiteralsAndConstants() {
+        rewriteRun(
+          // language=java
+          java(
+            """
+              package com.acme;
+
+              public class Flags {
+                  public static final String NEW_CHECKOUT = "flag-key-456def";
+                  public static final String UNRELATED = "flag-key-123abc";
+              }
+              """,
+            """
+              package com.acme;
+
+              public class Flags {
+                  public static final String NEW_CHECKOUT = "project-a.flag-key-456def";
+                  public static final String UNRELATED = "flag-key-123abc";
+              }
+              """
+          ),
+          // language=java
+          java(
+            """
+              import com.acme.Flags;
+              import com.launchdarkly.sdk.LDContext;
+              import com.launchdarkly.sdk.server.LDClient;
+
+              class Foo {
+                  void bar(LDClient client, LDContext context) {
+                      boolean a = client.boolVariation("flag-key-123abc", context, false);
+                      boolean b = client.boolVariation(Flags.NEW_CHECKOUT, context, false);
+                      boolean c = client.boolVariation("other-key", context, false);
+                  }
+              }
+              """,
+            """
+              import com.acme.Flags;
+              import com.launchdarkly.sdk.LDContext;
+              import com.launchdarkly.sdk.server.LDClient;
+
+              class Foo {
+                  void bar(LDClient client, LDContext context) {
+                      boolean a = client.boolVariation("project-a.flag-key-123abc", context, false);
+                      boolean b = client.boolVariation(Flags.NEW_CHECKOUT, context, false);
+                      boolean c = client.boolVariation("other-key", context, false);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void renameLocalVariable() {
+        rewriteRun(
+          // language=java
+          java(
+            """
+              import io.getunleash.Unleash;
+
+              class Foo {
+                  boolean bar(Unleash unleash) {
+                      String key = "flag-key-123abc";
+                      return unleash.isEnabled(key);
+                  }
+              }
+              """,
+            """
+              import io.getunleash.Unleash;
+
+              class Foo {
+                  boolean bar(Unleash unleash) {
+                      String key = "project-a.flag-key-123abc";
+                      return unleash.isEnabled(key);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void keepLocalVariableOfOverload() {
+        rewriteRun(
+          spec -> spec.parser(JavaParser.fromJavaVersion().classpath("unleash-client-java")),
+          // language=java
+          java(
+            """
+              import io.getunleash.Unleash;
+
+              class Foo {
+                  boolean bar(Unleash unleash) {
+                      String key = "flag-key-123abc";
+                      return unleash.isEnabled(key);
+                  }
+
+                  String bar(Unleash unleash, String prefix) {
+                      String key = "flag-key-123abc";
+                      return prefix + key;
+                  }
+              }
+              """,
+            """
+              import io.getunleash.Unleash;
+
+              class Foo {
+                  boolean bar(Unleash unleash) {
+                      String key = "project-a.flag-key-123abc";
+                      return unleash.isEnabled(key);
+                  }
+
+                  String bar(Unleash unleash, String prefix) {
+                      String key = "flag-key-123abc";
+                      return prefix + key;
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void escapeNewKey() {
+        rewriteRun(
+          spec -> spec.recipe(new RenameFeatureKeys(Map.of("flag-key-123abc", "team\\flag-key-123abc"), null))
+            .parser(JavaParser.fromJavaVersion().classpath("unleash-client-java")),
+          // language=java
+          java(
+            """
+              import io.getunleash.Unleash;
+
+              class Foo {
+                  boolean bar(Unleash unleash) {
+                      return unleash.isEnabled("flag-key-123abc");
+                  }
+              }
+              """,
+            """
+              import io.getunleash.Unleash;
+
+              class Foo {
+                  boolean bar(Unleash unleash) {
+                      return unleash.isEnabled("team\\\\flag-key-123abc");
+                  }
+              }
+              """
+          )
+        );
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+import org.openrewrite.test.SourceSpec;
+import org.openrewrite.test.SourceSpecs;
+
+import static org.openrewrite.java.Assertions.java;
+
+class SourceExclusionsTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipeFromYaml(
+          //language=yaml
+          """
+            type: specs.openrewrite.org/v1beta/recipe
+            name: com.acme.bank.RemoveFlagOutsideGeneratedSources
+            displayName: Remove a flag outside generated and vendored sources
+            description: Removes a feature flag, leaving generated and vendored sources alone.
+            preconditions:
+              - org.openrewrite.featureflags.SourceExclusions:
+                  excludedPaths: third-party/**, **/vendor/**
+                  excludeGenerated: true
+            recipeList:
+              - org.openrewrite.featureflags.RemoveBooleanFlag:
+                  methodPattern: com.acme.bank.CustomLaunchDarklyWrapper featureFlagEnabled(String, boolean)
+                  featureKey: flag-key-123abc
+                  replacementValue: true
+            """,
+          "com.acme.bank.RemoveFlagOutsideGeneratedSources"
+        );
+    }
+
+    @Test
+    void removesFlagInOtherSources() {
+        rewriteRun(
+          wrapper(),
+          // language=java
+          java(
+            """
+              import com.acme.bank.CustomLaunchDarklyWrapper;
+              class Foo {
+                  private CustomLaunchDarklyWrapper wrapper = new CustomLaunchDarklyWrapper();
+                  void bar() {
+                      if (wrapper.featureFlagEnabled("flag-key-123abc", false)) {
+                          System.out.println("Feature is on");
+                      }
+                  }
+              }
+              """,
+            """
+              class Foo {
+                  void bar() {
+                      System.out.println("Feature is on");
+                  }
+              }
+              """,
+            spec -> spec.path("src/main/java/Foo.java")
+          )
+        );
+    }
+
+    @Test
+    void skipsGeneratedSourceRoots() {
+        rewriteRun(
+          wrapper(),
+          // language=java
+          java(
+            """
+              import com.acme.bank.CustomLaunchDarklyWrapper;
+              class Foo {
+                  private CustomLaunchDarklyWrapper wrapper = new CustomLaunchDarklyWrapper();
+                  void bar() {
+                      if (wrapper.featureFlagEnabled("flag-key-123abc", false)) {
+                          System.out.println("Feature is on");
+                      }
+                  }
+              }
+              """,
+            spec -> spec.path("module/build/generated/sources/annotationProcessor/java/main/Foo.java")
+          )
+        );
+    }
+
+    @Test
+    void skipsGeneratedAnnotation() {
+        rewriteRun(
+          wrapper(),
+          // language=java
+          java(
+            """
+              package com.acme.bank;
+              public @interface Generated {
+                  String[] value();
+              }
+              """,
+            SourceSpec::skip
+          ),
+          // language=java
+          java(
+            """
+              import com.acme.bank.CustomLaunchDarklyWrapper;
+              import com.acme.bank.Generated;
+              @Generated("protoc")
+              class Foo {
+                  private CustomLaunchDarklyWrapper wrapper = new CustomLaunchDarklyWrapper();
+                  void bar() {
+                      if (wrapper.featureFlagEnabled("flag-key-123abc", false)) {
+                          System.out.println("Feature is on");
+                      }
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void skipsGeneratedHeader() {
+        rewriteRun(
+          wrapper(),
+          // language=java
+          java(
+            """
+              // Generated by the protocol buffer compiler.  DO NOT EDIT!
+              import com.acme.bank.CustomLaunchDarklyWrapper;
+              class Foo {
+                  private CustomLaunchDarklyWrapper wrapper = new CustomLaunchDarklyWrapper();
+                  void bar() {
+                      if (wrapper.featureFlagEnabled("flag-key-123abc", false)) {
+                          System.out.println("Feature is on");
+                      }
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void skipsExcludedPaths() {
+        rewriteRun(
+          wrapper(),
+          // language=java
+          java(
+            """
+              import com.acme.bank.CustomLaunchDarklyWrapper;
+              class Foo {
+                  private CustomLaunchDarklyWrapper wrapper = new CustomLaunchDarklyWrapper();
+                  void bar() {
+                      if (wrapper.featureFlagEnabled("flag-key-123abc", false)) {
+                          System.out.println("Feature is on");
+                      }
+                  }
+              }
+              """,
+            spec -> spec.path("src/main/java/com/acme/vendor/Foo.java")
+          )
+        );
+    }
+
+    @Test
+    void recipesStillChangeGeneratedSources() {
+        rewriteRun(
+          spec -> spec.recipe(new RemoveBooleanFlag("com.acme.bank.CustomLaunchDarklyWrapper featureFlagEnabled(String, boolean)",
+            "flag-key-123abc", true)),
+          wrapper(),
+          // language=java
+          java(
+            """
+              import com.acme.bank.CustomLaunchDarklyWrapper;
+              class Foo {
+                  private CustomLaunchDarklyWrapper wrapper = new CustomLaunchDarklyWrapper();
+                  void bar() {
+                      if (wrapper.featureFlagEnabled("flag-key-123abc", false)) {
+                          System.out.println("Feature is on");
+                      }
+                  }
+              }
+              """,
+            """
+              class Foo {
+                  void bar() {
+                      System.out.println("Feature is on");
+                  }
+              }
+              """,
+            spec -> spec.path("build/generated/sources/Foo.java")
+          )
+        );
+    }
+
+    private static SourceSpecs wrapper() {
+        // language=java
+        return java(
+          """
+            package com.acme.bank;
+
+            public class CustomLaunchDarklyWrapper {
+                public boolean featureFlagEnabled(String key, boolean fallback) {
+                    return fallback;
+                }
+            }
+            """,
+          SourceSpec::skip
+        );
+    }
+}
@@ -0,0 +1,409 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.SourceSpec;
+import org.openrewrite.test.SourceSpecs;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+import static org.openrewrite.gradle.Assertions.buildGradle;
+import static org.openrewrite.java.Assertions.*;
+import static org.openrewrite.maven.Assertions.pomXml;
+
+/**
+ * Generates multi-module Java projects that use the supported feature flag SDKs,
+ * to benchmark and stress test the recipes at a scale that hand-written tests do not reach.
+ * <p>
+ * Every module has a build file declaring the SDK dependencies, a constants class holding feature keys,
+ * a wrapper class around the SDK clients and a configurable number of service classes,
+ * whose methods evaluate feature flags at a configurable density and nesting depth.
+ * The same settings and seed always generate the same corpus.
+ */
+public class SyntheticCorpus {
+
+    public enum Sdk {
+        LAUNCHDARKLY("com.launchdarkly", "launchdarkly-java-server-sdk",
+                "com.launchdarkly.sdk.server.LDClient", "ldClient", "new LDClient(\"sdk-key\")",
+                "ldClient.boolVariation(%s, context, false)"),
+        OPENFEATURE("dev.openfeature", "sdk",
+                "dev.openfeature.sdk.Client", "openFeature", "dev.openfeature.sdk.OpenFeatureAPI.getInstance().getClient()",
+                "openFeature.getBooleanValue(%s, false)"),
+        UNLEASH("io.getunleash", "unleash-client-java",
+                "io.getunleash.Unleash", "unleash", "null",
+                "unleash.isEnabled(%s)"),
+        FF4J("org.ff4j", "ff4j-core",
+                "org.ff4j.FF4j", "ff4j", "new FF4j()",
+                "ff4j.check(%s)"),
+        QUARKUS_FLAGS("io.quarkiverse.flags", "quarkus-flags",
+                "io.quarkiverse.flags.Flags", "flags", "null",
+                "flags.isEnabled(%s)");
+
+        final String groupId;
+        final String artifactId;
+        final String clientType;
+        final String field;
+        final String initializer;
+        final String evaluation;
+
+        Sdk(String groupId, String artifactId, String clientType, String field, String initializer, String evaluation) {
+            this.groupId = groupId;
+            this.artifactId = artifactId;
+            this.clientType = clientType;
+            this.field = field;
+            this.initializer = initializer;
+            this.evaluation = evaluation;
+        }
+
+        String simpleName() {
+            return clientType.substring(clientType.lastIndexOf('.') + 1);
+        }
+    }
+
+    public enum BuildTool {
+        MAVEN, GRADLE
+    }
+
+    public static final class GeneratedFile {
+        private final String module;
+        private final String path;
+        private final String content;
+
+        GeneratedFile(String module, String path, String content) {
+            this.module = module;
+            this.path = path;
+            this.content = content;
+        }
+
+        public String getModule() {
+            return module;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public String getContent() {
+            return content;
+        }
+
+        public boolean isJava() {
+            return path.endsWith(".java");
+        }
+    }
+
+    private int modules = 2;
+    private int classesPerModule = 10;
+    private int methodsPerClass = 5;
+    private double evaluationDensity = 0.5;
+    private int featureKeys = 20;
+    private double constantKeyRatio = 0.5;
+    private int nestingDepth = 1;
+    private Set<Sdk> sdks = EnumSet.allOf(Sdk.class);
+    private BuildTool buildTool = BuildTool.MAVEN;
+    private String launchDarklyVersion = "6.3.0";
+    private long seed = 42;
+
+    public static String featureKey(int index) {
+        return "flag-key-" + index;
+    }
+
+    public SyntheticCorpus modules(int modules) {
+        this.modules = modules;
+        return this;
+    }
+
+    public SyntheticCorpus classesPerModule(int classesPerModule) {
+        this.classesPerModule = classesPerModule;
+        return this;
+    }
+
+    public SyntheticCorpus methodsPerClass(int methodsPerClass) {
+        this.methodsPerClass = methodsPerClass;
+        return this;
+    }
+
+    /**
+     * @param evaluationDensity The share of methods, between 0 and 1, that evaluate a feature flag.
+     */
+    public SyntheticCorpus evaluationDensity(double evaluationDensity) {
+        this.evaluationDensity = evaluationDensity;
+        return this;
+    }
+
+    public SyntheticCorpus featureKeys(int featureKeys) {
+        this.featureKeys = featureKeys;
+        return this;
+    }
+
+    /**
+     * @param constantKeyRatio The share of evaluations, between 0 and 1, that refer to the key through a constant.
+     */
+    public SyntheticCorpus constantKeyRatio(double constantKeyRatio) {
+        this.constantKeyRatio = constantKeyRatio;
+        return this;
+    }
+
+    public SyntheticCorpus nestingDepth(int nestingDepth) {
+        this.nestingDepth = nestingDepth;
+        return this;
+    }
+
+    public SyntheticCorpus sdks(Sdk first, Sdk... rest) {
+        this.sdks = EnumSet.of(first, rest);
+        return this;
+    }
+
+    public SyntheticCorpus buildTool(BuildTool buildTool) {
+        this.buildTool = buildTool;
+        return this;
+    }
+
+    public SyntheticCorpus launchDarklyVersion(String launchDarklyVersion) {
+        this.launchDarklyVersion = launchDarklyVersion;
+        return this;
+    }
+
+    public SyntheticCorpus seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public List<GeneratedFile> generate() {
+        Random random = new Random(seed);
+        List<GeneratedFile> files = new ArrayList<>();
+        for (int m = 0; m < modules; m++) {
+            String module = "module-" + m;
+            String pkg = "com.acme.module" + m;
+            String dir = module + "/src/main/java/" + pkg.replace('.', '/') + "/";
+            files.add(buildTool == BuildTool.MAVEN ?
+                    new GeneratedFile(module, module + "/pom.xml", pom(module)) :
+                    new GeneratedFile(module, module + "/build.gradle", buildGradleFile()));
+            files.add(new GeneratedFile(module, dir + "FeatureKeys.java", constants(pkg)));
+            files.add(new GeneratedFile(module, dir + "FeatureToggles.java", wrapper(pkg)));
+            for (int c = 0; c < classesPerModule; c++) {
+                files.add(new GeneratedFile(module, dir + "Service" + c + ".java", service(pkg, c, random)));
+            }
+        }
+        return files;
+    }
+
+    public List<String> javaSources() {
+        return generate().stream().filter(GeneratedFile::isJava).map(GeneratedFile::getContent).collect(toList());
+    }
+
+    /**
+     * @return A parser with the SDKs on the classpath; the SDKs other than LaunchDarkly have to be on the runtime classpath.
+     */
+    public JavaParser.Builder<?, ?> parser(ExecutionContext ctx) {
+        List<String> artifacts = new ArrayList<>();
+        for (Sdk sdk : sdks) {
+            if (sdk != Sdk.LAUNCHDARKLY) {
+                artifacts.add(sdk.artifactId);
+            }
+        }
+        JavaParser.Builder<?, ?> parser = JavaParser.fromJavaVersion();
+        List<Path> classpath = new ArrayList<>(JavaParser.dependenciesFromClasspath(artifacts.toArray(new String[0])));
+        if (sdks.contains(Sdk.LAUNCHDARKLY)) {
+            classpath.addAll(JavaParser.dependenciesFromResources(ctx, "launchdarkly-java-server-sdk-6.+"));
+        }
+        return parser.classpath(classpath);
+    }
+
+    public List<SourceFile> parse(ExecutionContext ctx) {
+        return parser(ctx).build().parse(ctx, javaSources().toArray(new String[0])).collect(toList());
+    }
+
+    /**
+     * @return The corpus as {@link org.openrewrite.test.RewriteTest} sources that are expected not to change,
+     * with {@code after} applied to each source that is.
+     */
+    public SourceSpecs[] sourceSpecs(UnaryOperator<String> after) {
+        Map<String, List<GeneratedFile>> byModule = new LinkedHashMap<>();
+        for (GeneratedFile file : generate()) {
+            byModule.computeIfAbsent(file.getModule(), k -> new ArrayList<>()).add(file);
+        }
+        List<SourceSpecs> specs = new ArrayList<>();
+        for (Map.Entry<String, List<GeneratedFile>> module : byModule.entrySet()) {
+            List<SourceSpecs> javaSpecs = new ArrayList<>();
+            SourceSpecs buildFile = null;
+            for (GeneratedFile file : module.getValue()) {
+                if (file.isJava()) {
+                    javaSpecs.add(java(file.getContent(), spec -> afterIfChanged(spec, file.getContent(), after)));
+                } else if (buildTool == BuildTool.MAVEN) {
+                    buildFile = pomXml(file.getContent(), spec -> afterIfChanged(spec, file.getContent(), after));
+                } else {
+                    buildFile = buildGradle(file.getContent(), spec -> afterIfChanged(spec, file.getContent(), after));
+                }
+            }
+            specs.add(mavenProject(module.getKey(), requireNonNull(buildFile),
+                    srcMainJava(javaSpecs.toArray(new SourceSpecs[0]))));
+        }
+        return specs.toArray(new SourceSpecs[0]);
+    }
+
+    private static void afterIfChanged(SourceSpec<?> spec, String before, UnaryOperator<String> after) {
+        String expected = after.apply(before);
+        if (!before.equals(expected)) {
+            spec.after(actual -> expected);
+        }
+    }
+
+    private String pom(String module) {
+        StringBuilder dependencies = new StringBuilder();
+        for (Sdk sdk : sdks) {
+            dependencies.append("        <dependency>\n")
+                    .append("            <groupId>").append(sdk.groupId).append("</groupId>\n")
+                    .append("            <artifactId>").append(sdk.artifactId).append("</artifactId>\n")
+                    .append("            <version>").append(version(sdk)).append("</version>\n")
+                    .append("        </dependency>\n");
+        }
+        return "<project>\n" +
+               "    <modelVersion>4.0.0</modelVersion>\n" +
+               "    <groupId>com.acme</groupId>\n" +
+               "    <artifactId>" + module + "</artifactId>\n" +
+               "    <version>1.0.0</version>\n" +
+               "    <dependencies>\n" +
+               dependencies +
+               "    </dependencies>\n" +
+               "</project>\n";
+    }
+
+    private String buildGradleFile() {
+        StringBuilder dependencies = new StringBuilder();
+        for (Sdk sdk : sdks) {
+            dependencies.append("    implementation \"").append(sdk.groupId).append(':').append(sdk.artifactId)
+                    .append(':').append(version(sdk)).append("\"\n");
+        }
+        return "plugins {\n" +
+               "    id \"java\"\n" +
+               "}\n\n" +
+               "repositories {\n" +
+               "    mavenCentral()\n" +
+               "}\n\n" +
+               "dependencies {\n" +
+               dependencies +
+               "}\n";
+    }
+
+    private String version(Sdk sdk) {
+        switch (sdk) {
+            case LAUNCHDARKLY:
+                return launchDarklyVersion;
+            case OPENFEATURE:
+                return "1.14.0";
+            case UNLEASH:
+                return "9.2.4";
+            case FF4J:
+                return "2.0.0";
+            default:
+                return "1.0.0";
+        }
+    }
+
+    private String constants(String pkg) {
+        StringBuilder source = new StringBuilder("package ").append(pkg).append(";\n\npublic class FeatureKeys {\n");
+        for (int k = 0; k < featureKeys; k++) {
+            source.append("    public static final String FLAG_").append(k).append(" = \"").append(featureKey(k)).append("\";\n");
+        }
+        return source.append("}\n").toString();
+    }
+
+    private String wrapper(String pkg) {
+        Sdk sdk = sdks.iterator().next();
+        return "package " + pkg + ";\n\n" +
+               imports() +
+               "public class FeatureToggles {\n" +
+               clientFields() +
+               "\n" +
+               "    public boolean isOn(String key" + (sdk == Sdk.LAUNCHDARKLY ? ", LDContext context" : "") + ") {\n" +
+               "        return " + String.format(sdk.evaluation, "key") + ";\n" +
+               "    }\n" +
+               "}\n";
+    }
+
+    private String service(String pkg, int index, Random random) {
+        List<Sdk> sdkList = new ArrayList<>(sdks);
+        StringBuilder source = new StringBuilder("package ").append(pkg).append(";\n\n")
+                .append(imports())
+                .append("public class Service").append(index).append(" {\n")
+                .append(clientFields())
+                .append("    private final FeatureToggles toggles = new FeatureToggles();\n\n");
+        if (sdks.contains(Sdk.LAUNCHDARKLY)) {
+            source.append("    LDUser user(String key) {\n")
+                    .append("        return new LDUser.Builder(key).email(key + \"@example.com\").build();\n")
+                    .append("    }\n\n");
+        }
+        for (int m = 0; m < methodsPerClass; m++) {
+            source.append("    int method").append(m).append(sdks.contains(Sdk.LAUNCHDARKLY) ? "(LDContext context, int value) {\n" : "(int value) {\n");
+            String indent = "        ";
+            for (int d = 0; d < nestingDepth; d++) {
+                source.append(indent).append(d % 2 == 0 ? "if (value > " + d + ") {\n" : "for (int i" + d + " = 0; i" + d + " < value; i" + d + "++) {\n");
+                indent += "    ";
+            }
+            if (random.nextDouble() < evaluationDensity) {
+                int key = random.nextInt(featureKeys);
+                String keyExpression = random.nextDouble() < constantKeyRatio ? "FeatureKeys.FLAG_" + key : "\"" + featureKey(key) + "\"";
+                Sdk sdk = sdkList.get(random.nextInt(sdkList.size()));
+                source.append(indent).append("if (").append(String.format(sdk.evaluation, keyExpression)).append(") {\n")
+                        .append(indent).append("    value += ").append(m).append(";\n")
+                        .append(indent).append("}\n");
+            } else if (random.nextBoolean()) {
+                source.append(indent).append("if (toggles.isOn(FeatureKeys.FLAG_").append(random.nextInt(featureKeys))
+                        .append(sdks.iterator().next() == Sdk.LAUNCHDARKLY ? ", context" : "").append(")) {\n")
+                        .append(indent).append("    value--;\n")
+                        .append(indent).append("}\n");
+            } else {
+                source.append(indent).append("value = value * 31 + ").append(m).append(";\n");
+            }
+            for (int d = nestingDepth - 1; d >= 0; d--) {
+                indent = indent.substring(4);
+                source.append(indent).append("}\n");
+            }
+            source.append("        return value;\n")
+                    .append("    }\n\n");
+        }
+        return source.append("}\n").toString();
+    }
+
+    private String imports() {
+        StringBuilder imports = new StringBuilder();
+        if (sdks.contains(Sdk.LAUNCHDARKLY)) {
+            imports.append("import com.launchdarkly.sdk.LDContext;\n")
+                    .append("import com.launchdarkly.sdk.LDUser;\n");
+        }
+        for (Sdk sdk : sdks) {
+            imports.append("import ").append(sdk.clientType).append(";\n");
+        }
+        return imports.append("\n").toString();
+    }
+
+    private String clientFields() {
+        StringBuilder fields = new StringBuilder();
+        for (Sdk sdk : sdks) {
+            fields.append("    private final ").append(sdk.simpleName()).append(' ').append(sdk.field)
+                    .append(" = ").append(sdk.initializer).append(";\n");
+        }
+        return fields.toString();
+    }
+}
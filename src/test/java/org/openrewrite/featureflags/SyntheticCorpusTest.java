@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.*;
+import org.openrewrite.config.Environment;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.featureflags.SyntheticCorpus.featureKey;
+
+class SyntheticCorpusTest implements RewriteTest {
+    private static final String BOOL_VARIATION = "com.launchdarkly.sdk.server.LDClient boolVariation(String, com.launchdarkly.sdk.*, boolean)";
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.parser(new SyntheticCorpus().parser(new InMemoryExecutionContext()));
+    }
+
+    @Test
+    void unrelatedFeatureKeyLeavesCorpusUnchanged() {
+        rewriteRun(
+          spec -> spec.recipe(new RemoveBooleanFlag(BOOL_VARIATION, "unknown-key", true)),
+          new SyntheticCorpus().sourceSpecs(UnaryOperator.identity())
+        );
+    }
+
+    @Test
+    void removeBooleanFlagAcrossCorpus() {
+        SyntheticCorpus corpus = new SyntheticCorpus()
+          .sdks(SyntheticCorpus.Sdk.LAUNCHDARKLY)
+          .modules(3)
+          .classesPerModule(20)
+          .nestingDepth(3)
+          .featureKeys(5)
+          // Feature keys are resolved within a compilation unit, and the FeatureKeys constants are declared in another one
+          .constantKeyRatio(0);
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        List<Result> results = new RemoveBooleanFlag(BOOL_VARIATION, featureKey(0), true)
+          .run(new InMemoryLargeSourceSet(corpus.parse(ctx)), ctx)
+          .getChangeset()
+          .getAllResults();
+
+        assertThat(results).isNotEmpty();
+        for (Result result : results) {
+            assertThat(result.getAfter()).isNotNull();
+            assertThat(result.getAfter().printAll())
+              .doesNotContain("boolVariation(\"" + featureKey(0) + "\"");
+        }
+    }
+
+    @Test
+    void upgradeLaunchDarkly7EndToEnd() {
+        SyntheticCorpus corpus = new SyntheticCorpus()
+          .sdks(SyntheticCorpus.Sdk.LAUNCHDARKLY)
+          .modules(2)
+          .classesPerModule(10);
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        Recipe upgrade = Environment.builder()
+          .scanRuntimeClasspath("org.openrewrite.featureflags")
+          .build()
+          .activateRecipes("org.openrewrite.featureflags.launchdarkly.UpgradeLaunchDarkly7");
+        List<Result> results = upgrade
+          .run(new InMemoryLargeSourceSet(corpus.parse(ctx)), ctx)
+          .getChangeset()
+          .getAllResults();
+
+        // Every service class builds an LDUser
+        assertThat(results).hasSize(2 * 10);
+        for (Result result : results) {
+            assertThat(result.getAfter()).isNotNull();
+            assertThat(result.getAfter().printAll())
+              .doesNotContain("LDUser")
+              .contains("LDContext.builder(key).set(\"email\", key + \"@example.com\").build()");
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+
+class UseSingleFlagEvaluationTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(new UseSingleFlagEvaluation());
+    }
+
+    @DocumentExample
+    @Test
+    void launchDarklyAllFlagsState() {
+        rewriteRun(
+          spec -> spec.parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "launchdarkly-java-server-sdk-6.+")),
+          // language=java
+          java(
+            """
+              import com.launchdarkly.sdk.LDContext;
+              import com.launchdarkly.sdk.server.LDClient;
+
+              class Foo {
+                  boolean enabled(LDClient client, LDContext context) {
+                      return client.allFlagsState(context).getFlagValue("flag-key-123abc").booleanValue();
+                  }
+
+                  String topic(LDClient client, LDContext context) {
+                      return client.allFlagsState(context).getFlagValue("flag-key-456def").stringValue();
+                  }
+              }
+              """,
+            """
+              import com.launchdarkly.sdk.LDContext;
+              import com.launchdarkly.sdk.server.LDClient;
+
+              class Foo {
+                  boolean enabled(LDClient client, LDContext context) {
+                      return client.boolVariation("flag-key-123abc", context, false);
+                  }
+
+                  String topic(LDClient client, LDContext context) {
+                      return client.stringVariation("flag-key-456def", context, null);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void launchDarklyAllFlagsStateOfClientInterface() {
+        rewriteRun(
+          spec -> spec.parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "launchdarkly-java-server-sdk-6.+")),
+          // language=java
+          java(
+            """
+              import com.launchdarkly.sdk.LDContext;
+              import com.launchdarkly.sdk.server.interfaces.LDClientInterface;
+
+              class Foo {
+                  boolean enabled(LDClientInterface client, LDContext context) {
+                      return client.allFlagsState(context).getFlagValue("flag-key-123abc").booleanValue();
+                  }
+              }
+              """,
+            """
+              import com.launchdarkly.sdk.LDContext;
+              import com.launchdarkly.sdk.server.interfaces.LDClientInterface;
+
+              class Foo {
+                  boolean enabled(LDClientInterface client, LDContext context) {
+                      return client.boolVariation("flag-key-123abc", context, false);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void launchDarklyAllFlagsStateWithOptions() {
+        rewriteRun(
+          spec -> spec.parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "launchdarkly-java-server-sdk-6.+")),
+          // language=java
+          java(
+            """
+              import com.launchdarkly.sdk.LDContext;
+              import com.launchdarkly.sdk.server.FlagsStateOption;
+              import com.launchdarkly.sdk.server.LDClient;
+
+              class Foo {
+                  boolean enabled(LDClient client, LDContext context) {
+                      return client.allFlagsState(context, FlagsStateOption.CLIENT_SIDE_ONLY).getFlagValue("flag-key-123abc").booleanValue();
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void unleashEvaluateAllToggles() {
+        rewriteRun(
+          spec -> spec.parser(JavaParser.fromJavaVersion().classpath("unleash-client-java")),
+          // language=java
+          java(
+            """
+              import io.getunleash.EvaluatedToggle;
+              import io.getunleash.Unleash;
+              import io.getunleash.UnleashContext;
+
+              class Foo {
+                  boolean enabled(Unleash unleash, UnleashContext context) {
+                      return unleash.more().evaluateAllToggles(context).stream()
+                              .filter(toggle -> toggle.getName().equals("flag-key-123abc"))
+                              .findFirst()
+                              .map(EvaluatedToggle::isEnabled)
+                              .orElse(false);
+                  }
+              }
+              """,
+            """
+              import io.getunleash.Unleash;
+              import io.getunleash.UnleashContext;
+
+              class Foo {
+                  boolean enabled(Unleash unleash, UnleashContext context) {
+                      return unleash.isEnabled("flag-key-123abc", context);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void unleashEvaluateAllTogglesWithOtherFallback() {
+        rewriteRun(
+          spec -> spec.parser(JavaParser.fromJavaVersion().classpath("unleash-client-java")),
+          // language=java
+          java(
+            """
+              import io.getunleash.EvaluatedToggle;
+              import io.getunleash.Unleash;
+
+              class Foo {
+                  boolean enabled(Unleash unleash) {
+                      return unleash.more().evaluateAllToggles().stream()
+                              .filter(toggle -> "flag-key-123abc".equals(toggle.getName()))
+                              .findFirst()
+                              .map(EvaluatedToggle::isEnabled)
+                              .orElse(true);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void ff4jGetFeatures() {
+        rewriteRun(
+          spec -> spec.parser(JavaParser.fromJavaVersion().classpath("ff4j-core")),
+          // language=java
+          java(
+            """
+              import org.ff4j.FF4j;
+
+              class Foo {
+                  boolean enabled(FF4j ff4j) {
+                      return ff4j.getFeatures().get("flag-key-123abc").isEnable();
+                  }
+              }
+              """,
+            """
+              import org.ff4j.FF4j;
+
+              class Foo {
+                  boolean enabled(FF4j ff4j) {
+                      return ff4j.getFeature("flag-key-123abc").isEnable();
+                  }
+              }
+              """
+          )
+        );
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.launchdarkly;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.marker.JavaSourceSet;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.Map;
+
+import static org.openrewrite.java.Assertions.java;
+
+class ChangeVariationDefaultsTest implements RewriteTest {
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(new ChangeVariationDefaults(Map.of(
+            "bool-key", "true",
+            "int-key", "42",
+            "string-key", "fallback",
+            "json-key", "{\"limit\":10}",
+            "json-null-key", "null")))
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "launchdarkly-java-server-sdk-6.+"));
+    }
+
+    @DocumentExample
+    @Test
+    void changeDefaultValuesOfManyKeys() {
+        rewriteRun(
+          // language=java
+          java(
+            """
+              import com.launchdarkly.sdk.LDContext;
+              import com.launchdarkly.sdk.server.LDClient;
+              class Foo {
+                  private static final String INT_KEY = "int-key";
+                  private LDClient client = new LDClient("sdk-key-123abc");
+                  void bar(LDContext context) {
+                      boolean enabled = client.boolVariation("bool-key", context, false);
+                      int limit = client.intVariation(INT_KEY, context, 0);
+                      String name = client.stringVariation("string-key", context, "default");
+                      String other = client.stringVariation("other-key", context, "default");
+                  }
+              }
+              """,
+            """
+              import com.launchdarkly.sdk.LDContext;
+              import com.launchdarkly.sdk.server.LDClient;
+              class Foo {
+                  private static final String INT_KEY = "int-key";
+                  private LDClient client = new LDClient("sdk-key-123abc");
+                  void bar(LDContext context) {
+                      boolean enabled = client.boolVariation("bool-key", context, true);
+                      int limit = client.intVariation(INT_KEY, context, 42);
+                      String name = client.stringVariation("string-key", context, "fallback");
+                      String other = client.stringVariation("other-key", context, "default");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void changeJsonValueDefault() {
+        rewriteRun(
+          // language=java
+          java(
+            """
+              import com.launchdarkly.sdk.LDContext;
+              import com.launchdarkly.sdk.LDValue;
+              import com.launchdarkly.sdk.server.LDClient;
+              class Foo {
+                  private LDClient client = new LDClient("sdk-key-123abc");
+                  void bar(LDContext context) {
+                      LDValue config = client.jsonValueVariation("json-key", context, LDValue.ofNull());
+                      LDValue empty = client.jsonValueVariation("json-null-key", context, LDValue.of(1));
+                  }
+              }
+              """,
+            """
+              import com.launchdarkly.sdk.LDContext;
+              import com.launchdarkly.sdk.LDValue;
+              import com.launchdarkly.sdk.server.LDClient;
+              class Foo {
+                  private LDClient client = new LDClient("sdk-key-123abc");
+                  void bar(LDContext context) {
+                      LDValue config = client.jsonValueVariation("json-key", context, LDValue.parse("{\\"limit\\":10}"));
+                      LDValue empty = client.jsonValueVariation("json-null-key", context, LDValue.ofNull());
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void escapeStringAndNormalizeNumberDefaults() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeVariationDefaults(Map.of(
+            "string-key", "say \"hi\"\\n",
+            "int-key", "010",
+            "double-key", "1e3",
+            "nan-key", "NaN"))),
+          // language=java
+          java(
+            """
+              import com.launchdarkly.sdk.LDContext;
+              import com.launchdarkly.sdk.server.LDClient;
+              class Foo {
+                  private LDClient client = new LDClient("sdk-key-123abc");
+                  void bar(LDContext context) {
+                      String greeting = client.stringVariation("string-key", context, "default");
+                      int limit = client.intVariation("int-key", context, 0);
+                      double ratio = client.doubleVariation("double-key", context, 0.5);
+                      double other = client.doubleVariation("nan-key", context, 0.5);
+                  }
+              }
+              """,
+            """
+              import com.launchdarkly.sdk.LDContext;
+              import com.launchdarkly.sdk.server.LDClient;
+              class Foo {
+                  private LDClient client = new LDClient("sdk-key-123abc");
+                  void bar(LDContext context) {
+                      String greeting = client.stringVariation("string-key", context, "say \\"hi\\"\\\\n");
+                      int limit = client.intVariation("int-key", context, 10);
+                      double ratio = client.doubleVariation("double-key", context, 1000.0);
+                      double other = client.doubleVariation("nan-key", context, 0.5);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void changeJsonValueDefaultOnLaunchDarkly7() {
+        rewriteRun(
+          spec -> spec.parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "launchdarkly-java-server-sdk-7.+")),
+          // language=java
+          java(
+            """
+              import com.launchdarkly.sdk.LDContext;
+              import com.launchdarkly.sdk.LDValue;
+              import com.launchdarkly.sdk.server.LDClient;
+              class Foo {
+                  private LDClient client = new LDClient("sdk-key-123abc");
+                  void bar(LDContext context) {
+                      LDValue config = client.jsonValueVariation("json-key", context, LDValue.ofNull());
+                  }
+              }
+              """,
+            """
+              import com.launchdarkly.sdk.LDContext;
+              import com.launchdarkly.sdk.LDValue;
+              import com.launchdarkly.sdk.server.LDClient;
+              class Foo {
+                  private LDClient client = new LDClient("sdk-key-123abc");
+                  void bar(LDContext context) {
+                      LDValue config = client.jsonValueVariation("json-key", context, LDValue.parse("{\\"limit\\":10}"));
+                  }
+              }
+              """,
+            spec -> spec.markers(JavaSourceSet.build("main",
+              JavaParser.dependenciesFromResources(new InMemoryExecutionContext(), "launchdarkly-java-server-sdk-7.+")))
+          )
+        );
+    }
+
+    @Test
+    void noChangeForMatchingValues() {
+        rewriteRun(
+          // language=java
+          java(
+            """
+              import com.launchdarkly.sdk.LDContext;
+              import com.launchdarkly.sdk.LDValue;
+              import com.launchdarkly.sdk.server.LDClient;
+              class Foo {
+                  private LDClient client = new LDClient("sdk-key-123abc");
+                  void bar(LDContext context) {
+                      boolean enabled = client.boolVariation("bool-key", context, true);
+                      LDValue empty = client.jsonValueVariation("json-null-key", context, LDValue.ofNull());
+                  }
+              }
+              """
+          )
+        );
+    }
+}
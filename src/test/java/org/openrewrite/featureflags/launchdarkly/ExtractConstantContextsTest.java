@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.launchdarkly;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.marker.JavaSourceSet;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+
+class ExtractConstantContextsTest implements RewriteTest {
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(new ExtractConstantContexts())
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "launchdarkly-java-server-sdk-6.+"));
+    }
+
+    @DocumentExample
+    @Test
+    void extractConstantContexts() {
+        rewriteRun(
+          // language=java
+          java(
+            """
+              import com.launchdarkly.sdk.LDContext;
+              import com.launchdarkly.sdk.server.LDClient;
+
+              class Foo {
+                  private final LDClient client = new LDClient("sdk-key-123abc");
+
+                  boolean anonymous() {
+                      return client.boolVariation("flag-key-123abc", LDContext.create("anonymous"), false);
+                  }
+
+                  boolean regional() {
+                      LDContext context = LDContext.builder("svc").set("region", "eu").build();
+                      return client.boolVariation("flag-key-123abc", context, false);
+                  }
+              }
+              """,
+            """
+              import com.launchdarkly.sdk.LDContext;
+              import com.launchdarkly.sdk.server.LDClient;
+
+              class Foo {
+                  private static final LDContext ANONYMOUS_CONTEXT = LDContext.create("anonymous");
+                  private static final LDContext SVC_CONTEXT = LDContext.builder("svc").set("region", "eu").build();
+                  private final LDClient client = new LDClient("sdk-key-123abc");
+
+                  boolean anonymous() {
+                      return client.boolVariation("flag-key-123abc", ANONYMOUS_CONTEXT, false);
+                  }
+
+                  boolean regional() {
+                      LDContext context = SVC_CONTEXT;
+                      return client.boolVariation("flag-key-123abc", context, false);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void declareContextAfterConstantsItRefersTo() {
+        rewriteRun(
+          // language=java
+          java(
+            """
+              import com.launchdarkly.sdk.LDContext;
+              import com.launchdarkly.sdk.server.LDClient;
+
+              class Foo {
+                  private final LDClient client = new LDClient("sdk-key-123abc");
+                  private static final String SERVICE_KEY = "svc";
+
+                  boolean enabled() {
+                      return client.boolVariation("flag-key-123abc", LDContext.create(SERVICE_KEY), false);
+                  }
+              }
+              """,
+            """
+              import com.launchdarkly.sdk.LDContext;
+              import com.launchdarkly.sdk.server.LDClient;
+
+              class Foo {
+                  private final LDClient client = new LDClient("sdk-key-123abc");
+                  private static final String SERVICE_KEY = "svc";
+                  private static final LDContext SERVICE_KEY_CONTEXT = LDContext.create(SERVICE_KEY);
+
+                  boolean enabled() {
+                      return client.boolVariation("flag-key-123abc", SERVICE_KEY_CONTEXT, false);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void extractConstantContextsOnLaunchDarkly7() {
+        rewriteRun(
+          spec -> spec.parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "launchdarkly-java-server-sdk-7.+")),
+          // language=java
+          java(
+            """
+              import com.launchdarkly.sdk.LDContext;
+              import com.launchdarkly.sdk.server.LDClient;
+
+              class Foo {
+                  private final LDClient client = new LDClient("sdk-key-123abc");
+
+                  boolean anonymous() {
+                      return client.boolVariation("flag-key-123abc", LDContext.create("anonymous"), false);
+                  }
+              }
+              """,
+            """
+              import com.launchdarkly.sdk.LDContext;
+              import com.launchdarkly.sdk.server.LDClient;
+
+              class Foo {
+                  private static final LDContext ANONYMOUS_CONTEXT = LDContext.create("anonymous");
+                  private final LDClient client = new LDClient("sdk-key-123abc");
+
+                  boolean anonymous() {
+                      return client.boolVariation("flag-key-123abc", ANONYMOUS_CONTEXT, false);
+                  }
+              }
+              """,
+            spec -> spec.markers(JavaSourceSet.build("main",
+              JavaParser.dependenciesFromResources(new InMemoryExecutionContext(), "launchdarkly-java-server-sdk-7.+")))
+          )
+        );
+    }
+
+    @Test
+    void keepContextsBuiltFromParameters() {
+        rewriteRun(
+          // language=java
+          java(
+            """
+              import com.launchdarkly.sdk.LDContext;
+              import com.launchdarkly.sdk.server.LDClient;
+
+              class Foo {
+                  boolean enabled(LDClient client, String userKey, String region) {
+                      LDContext user = LDContext.create(userKey);
+                      LDContext regional = LDContext.builder("svc").set("region", region).build();
+                      return client.boolVariation("flag-key-123abc", user, false) && client.boolVariation("flag-key-123abc", regional, false);
+                  }
+              }
+              """
+          )
+        );
+    }
+}
@@ -17,10 +17,12 @@ package org.openrewrite.featureflags.launchdarkly.search;
 
 import org.junit.jupiter.api.Test;
 import org.openrewrite.DocumentExample;
+import org.openrewrite.featureflags.table.FeatureFlagUsage;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.java.Assertions.java;
 
 class FindFeatureFlagTest implements RewriteTest {
@@ -281,4 +283,26 @@ class FindFeatureFlagTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void existenceOnly() {
+        rewriteRun(
+          spec -> spec.recipe(new FindFeatureFlag(FindFeatureFlag.FeatureFlagType.Bool, "flag-key-123abc", null, true))
+            .dataTable(FeatureFlagUsage.Row.class, rows -> assertThat(rows).containsExactly(
+              new FeatureFlagUsage.Row("com.launchdarkly.sdk.server.LDClient boolVariation(..)", "flag-key-123abc", true, "Test.java"))),
+          //language=java
+          java(
+            """
+              import com.launchdarkly.sdk.LDUser;
+              import com.launchdarkly.sdk.server.LDClient;
+
+              class Test {
+                  public boolean a(LDClient client, LDUser user) {
+                      return client.boolVariation("flag-key-123abc", user, false);
+                  }
+              }
+              """
+          )
+        );
+    }
 }
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.openfeature;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+
+class ReuseClientAndConstantContextsTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(new ReuseClientAndConstantContexts())
+          .parser(JavaParser.fromJavaVersion().classpath("sdk"));
+    }
+
+    @DocumentExample
+    @Test
+    void hoistClient() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import dev.openfeature.sdk.Client;
+              import dev.openfeature.sdk.OpenFeatureAPI;
+
+              class Test {
+                  boolean enabled() {
+                      Client client = OpenFeatureAPI.getInstance().getClient();
+                      return client.getBooleanValue("flag-key-123abc", false);
+                  }
+              }
+              """,
+            """
+              import dev.openfeature.sdk.Client;
+              import dev.openfeature.sdk.OpenFeatureAPI;
+
+              class Test {
+                  private static final Client OPEN_FEATURE_CLIENT = OpenFeatureAPI.getInstance().getClient();
+
+                  boolean enabled() {
+                      Client client = OPEN_FEATURE_CLIENT;
+                      return client.getBooleanValue("flag-key-123abc", false);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void reuseConstantContext() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import dev.openfeature.sdk.Client;
+              import dev.openfeature.sdk.ImmutableContext;
+              import dev.openfeature.sdk.Value;
+
+              import java.util.Collections;
+
+              class Test {
+                  boolean enabled(Client client) {
+                      return client.getBooleanValue("flag-key-123abc", false, new ImmutableContext(Collections.singletonMap("region", new Value("eu"))));
+                  }
+              }
+              """,
+            """
+              import dev.openfeature.sdk.Client;
+              import dev.openfeature.sdk.ImmutableContext;
+              import dev.openfeature.sdk.Value;
+
+              import java.util.Collections;
+
+              class Test {
+                  private static final ImmutableContext EVALUATION_CONTEXT = new ImmutableContext(Collections.singletonMap("region", new Value("eu")));
+
+                  boolean enabled(Client client) {
+                      return client.getBooleanValue("flag-key-123abc", false, EVALUATION_CONTEXT);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void declareContextAfterConstantsItRefersTo() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import dev.openfeature.sdk.Client;
+              import dev.openfeature.sdk.ImmutableContext;
+
+              class Test {
+                  private static final String TARGETING_KEY = "user-123abc";
+
+                  boolean enabled(Client client) {
+                      return client.getBooleanValue("flag-key-123abc", false, new ImmutableContext(TARGETING_KEY));
+                  }
+              }
+              """,
+            """
+              import dev.openfeature.sdk.Client;
+              import dev.openfeature.sdk.ImmutableContext;
+
+              class Test {
+                  private static final String TARGETING_KEY = "user-123abc";
+                  private static final ImmutableContext EVALUATION_CONTEXT = new ImmutableContext(TARGETING_KEY);
+
+                  boolean enabled(Client client) {
+                      return client.getBooleanValue("flag-key-123abc", false, EVALUATION_CONTEXT);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void keepContextBuiltFromParameters() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import dev.openfeature.sdk.Client;
+              import dev.openfeature.sdk.ImmutableContext;
+
+              class Test {
+                  boolean enabled(Client client, String userId) {
+                      return client.getBooleanValue("flag-key-123abc", false, new ImmutableContext(userId));
+                  }
+              }
+              """
+          )
+        );
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.search;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.*;
+import org.openrewrite.featureflags.RenameFeatureKeys;
+import org.openrewrite.featureflags.SyntheticCorpus;
+import org.openrewrite.featureflags.search.CallSiteCache.CallSite;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.featureflags.SyntheticCorpus.featureKey;
+
+/**
+ * Scans a large corpus on many threads sharing one accumulator and execution context, as a parallel
+ * processing harness does, and expects the same results as a scan on a single thread.
+ */
+class ConcurrentScanningTest {
+    private static final int THREADS = 8;
+
+    private static List<SourceFile> sourceFiles;
+
+    @BeforeAll
+    static void parse() {
+        sourceFiles = new SyntheticCorpus()
+          .modules(8)
+          .classesPerModule(40)
+          .evaluationDensity(0.5)
+          .featureKeys(20)
+          .constantKeyRatio(0.5)
+          .parse(new InMemoryExecutionContext(Throwable::printStackTrace));
+    }
+
+    @RepeatedTest(3)
+    void indexFeatureKeys(@TempDir Path directory) throws Exception {
+        IndexFeatureKeys recipe = new IndexFeatureKeys(directory.resolve("feature-keys.idx").toString(), null);
+        IndexFeatureKeys.Accumulator sequential = scan(recipe, 1);
+        IndexFeatureKeys.Accumulator parallel = scan(recipe, THREADS);
+
+        assertThat(sequential.sourcePathsByKey).isNotEmpty();
+        assertThat(parallel.sourcePathsByKey).isEqualTo(sequential.sourcePathsByKey);
+    }
+
+    @RepeatedTest(3)
+    void renameFeatureKeys() throws Exception {
+        RenameFeatureKeys recipe = new RenameFeatureKeys(singletonMap(featureKey(0), "renamed-key"), null);
+        Set<String> sequential = scan(recipe, 1);
+        Set<String> parallel = scan(recipe, THREADS);
+
+        assertThat(sequential).isNotEmpty();
+        assertThat(parallel).isEqualTo(sequential);
+    }
+
+    @RepeatedTest(3)
+    void findFeatureFlagUsage() throws Exception {
+        FindFeatureFlagUsage recipe = new FindFeatureFlagUsage("com.launchdarkly.sdk.server.LDClient *Variation(..)", null);
+        FindFeatureFlagUsage.Accumulator parallel = scan(recipe, THREADS);
+
+        assertThat(parallel.foundIn.get()).isNotNull();
+    }
+
+    @RepeatedTest(3)
+    void callSiteCache(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("call-sites.bin");
+        CallSiteCache cache = CallSiteCache.open(file);
+        CallSite callSite = new CallSite("com.launchdarkly.sdk.server.LDClient", "boolVariation", featureKey(0), 1, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                String hash = String.format("%064x", i);
+                futures.add(executor.submit(() -> cache.put(hash, singletonList(callSite))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        CallSiteCache reopened = CallSiteCache.open(file);
+        assertThat(reopened.size()).isEqualTo(1_000);
+        assertThat(reopened.get(String.format("%064x", 999))).containsExactly(callSite);
+    }
+
+    private static <T> T scan(ScanningRecipe<T> recipe, int threads) throws Exception {
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        T acc = recipe.getInitialValue(ctx);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (SourceFile sourceFile : sourceFiles) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    TreeVisitor<?, ExecutionContext> scanner = recipe.getScanner(acc);
+                    if (scanner.isAcceptable(sourceFile, ctx)) {
+                        scanner.visit(sourceFile, ctx);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return acc;
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.featureflags.search.CallSiteCache.CallSite;
+import org.openrewrite.featureflags.table.FeatureFlagCallSites;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+import org.openrewrite.test.SourceSpecs;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class FeatureFlagInventoryTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        //language=java
+        spec.parser(JavaParser.fromJavaVersion().dependsOn(
+            """
+              package com.acme;
+              public class FeatureFlag {
+                  public boolean isEnabled(String key) {
+                      return false;
+                  }
+              }
+              """
+          ))
+          .cycles(1)
+          .expectedCyclesThatMakeChanges(0);
+    }
+
+    @DocumentExample
+    @Test
+    void listsCallSites() {
+        rewriteRun(
+          spec -> spec.recipe(new FeatureFlagInventory("com.acme.FeatureFlag isEnabled(String)", null))
+            .dataTable(FeatureFlagCallSites.Row.class, rows -> assertThat(rows).containsExactly(
+              new FeatureFlagCallSites.Row("A.java", "com.acme.FeatureFlag", "isEnabled", "flag-key-123abc", 6, 16, false),
+              new FeatureFlagCallSites.Row("A.java", "com.acme.FeatureFlag", "isEnabled", "", 7, 16, false))),
+          source()
+        );
+    }
+
+    @Test
+    void answersUnchangedSourcesFromCache(@TempDir Path cacheDirectory) {
+        FeatureFlagInventory recipe = new FeatureFlagInventory("com.acme.FeatureFlag isEnabled(String)", cacheDirectory.toString());
+        rewriteRun(
+          spec -> spec.recipe(recipe)
+            .dataTable(FeatureFlagCallSites.Row.class, rows -> assertThat(rows).hasSize(2)
+              .allSatisfy(row -> assertThat(row.getCached()).isFalse())),
+          source()
+        );
+        rewriteRun(
+          spec -> spec.recipe(recipe)
+            .dataTable(FeatureFlagCallSites.Row.class, rows -> assertThat(rows).containsExactly(
+              new FeatureFlagCallSites.Row("A.java", "com.acme.FeatureFlag", "isEnabled", "flag-key-123abc", 6, 16, true),
+              new FeatureFlagCallSites.Row("A.java", "com.acme.FeatureFlag", "isEnabled", "", 7, 16, true))),
+          source()
+        );
+    }
+
+    @Test
+    void streamsRowsToCompressedFile(@TempDir Path directory) throws IOException {
+        rewriteRun(
+          spec -> spec.recipe(new FeatureFlagInventory("com.acme.FeatureFlag isEnabled(String)", null,
+              directory.toString(), true))
+            .afterRecipe(run -> assertThat(run.getDataTable(FeatureFlagCallSites.class.getName())).isNull()),
+          source()
+        );
+
+        Path file = directory.resolve(FeatureFlagCallSites.class.getName() + ".csv.gz");
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+          new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            assertThat(reader.lines()).containsExactly(
+              "Source path,Provider,Method,Feature key,Line,Column,Cached",
+              "A.java,com.acme.FeatureFlag,isEnabled,flag-key-123abc,6,16,false",
+              "A.java,com.acme.FeatureFlag,isEnabled,,7,16,false");
+        }
+    }
+
+    @Test
+    void recoversFromTornRecord(@TempDir Path cacheDirectory) throws IOException {
+        Path file = cacheDirectory.resolve("call-sites.bin");
+        String first = hash('a');
+        String second = hash('b');
+        CallSite callSite = new CallSite("com.acme.FeatureFlag", "isEnabled", "flag-key-123abc", 6, 16);
+
+        CallSiteCache.open(file).put(first, singletonList(callSite));
+        // A writer that crashed halfway through a record
+        Files.write(file, new byte[]{0, 0, 1, 0, 42}, StandardOpenOption.APPEND);
+
+        CallSiteCache reopened = CallSiteCache.open(file);
+        assertThat(reopened.get(first)).containsExactly(callSite);
+        reopened.put(second, singletonList(callSite));
+
+        CallSiteCache recovered = CallSiteCache.open(file);
+        assertThat(recovered.size()).isEqualTo(2);
+        assertThat(recovered.get(second)).containsExactly(callSite);
+    }
+
+    @Test
+    void cachesFeatureKeyLongerThan64Kb(@TempDir Path cacheDirectory) {
+        Path file = cacheDirectory.resolve("call-sites.bin");
+        CallSite callSite = new CallSite("com.acme.FeatureFlag", "isEnabled", "flag-key-".repeat(8_000), 6, 16);
+
+        CallSiteCache.open(file).put(hash('a'), singletonList(callSite));
+
+        assertThat(CallSiteCache.open(file).get(hash('a'))).containsExactly(callSite);
+    }
+
+    @Test
+    void columnAfterCommentsBeforeEvaluation() {
+        rewriteRun(
+          spec -> spec.recipe(new FeatureFlagInventory("com.acme.FeatureFlag isEnabled(String)", null))
+            .dataTable(FeatureFlagCallSites.Row.class, rows -> assertThat(rows).containsExactly(
+              new FeatureFlagCallSites.Row("A.java", "com.acme.FeatureFlag", "isEnabled", "flag-key-123abc", 5, 25, false))),
+          //language=java
+          java(
+            """
+              import com.acme.FeatureFlag;
+
+              class A {
+                  boolean a(FeatureFlag client) {
+                      return /* on */ client.isEnabled("flag-key-123abc");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void cachesOfSameFileInOneJvm(@TempDir Path cacheDirectory) throws Exception {
+        Path file = cacheDirectory.resolve("call-sites.bin");
+        CallSite callSite = new CallSite("com.acme.FeatureFlag", "isEnabled", "flag-key-123abc", 6, 16);
+        CallSiteCache first = CallSiteCache.open(file);
+        CallSiteCache second = CallSiteCache.open(file);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> puts = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                CallSiteCache cache = i % 2 == 0 ? first : second;
+                String hash = hash(Character.forDigit(i % 16, 16), i / 16);
+                puts.add(executor.submit(() -> cache.put(hash, singletonList(callSite))));
+            }
+            for (Future<?> put : puts) {
+                put.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(CallSiteCache.open(file).size()).isEqualTo(32);
+    }
+
+    private static String hash(char c, int variant) {
+        return hash(c).substring(1) + variant;
+    }
+
+    private static String hash(char c) {
+        StringBuilder hash = new StringBuilder();
+        for (int i = 0; i < 64; i++) {
+            hash.append(c);
+        }
+        return hash.toString();
+    }
+
+    private static SourceSpecs source() {
+        //language=java
+        return java(
+          """
+            import com.acme.FeatureFlag;
+
+            class A {
+                private static final String KEY = "flag-key-123abc";
+                boolean a(FeatureFlag client, String dynamic) {
+                    return client.isEnabled(KEY) &&
+                           client.isEnabled(dynamic);
+                }
+            }
+            """
+        );
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.openrewrite.java.Assertions.java;
+
+class FeatureFlagSummaryTest implements RewriteTest {
+    private static final String PROVIDER = "com.acme.FeatureFlag";
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        //language=java
+        spec.parser(JavaParser.fromJavaVersion().dependsOn(
+            """
+              package com.acme;
+              public class FeatureFlag {
+                  public boolean isEnabled(String key) {
+                      return false;
+                  }
+              }
+              """
+          ))
+          .cycles(1)
+          .expectedCyclesThatMakeChanges(0);
+    }
+
+    @DocumentExample
+    @Test
+    void writesSummary(@TempDir Path directory) throws IOException {
+        Path summaryFile = directory.resolve("feature-flags.ffs");
+        rewriteRun(
+          spec -> spec.recipe(new SummarizeFeatureFlags(summaryFile.toString(), "com.acme.FeatureFlag isEnabled(String)")),
+          //language=java
+          java(
+            """
+              import com.acme.FeatureFlag;
+
+              class A {
+                  boolean a(FeatureFlag client) {
+                      return client.isEnabled("flag-key-123abc") && client.isEnabled("flag-key-789def");
+                  }
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              import com.acme.FeatureFlag;
+
+              class B {
+                  boolean b(FeatureFlag client) {
+                      return client.isEnabled("flag-key-123abc") || client.isEnabled("flag-key-123abc");
+                  }
+              }
+              """
+          )
+        );
+
+        FeatureFlagSummary summary = FeatureFlagSummary.read(summaryFile);
+        assertThat(summary.getFeatureKeys()).containsExactly("flag-key-123abc", "flag-key-789def");
+        FeatureFlagSummary.KeySummary key = summary.get("flag-key-123abc");
+        assertThat(key.getEvaluations()).isEqualTo(3);
+        assertThat(key.getProviders()).containsEntry(PROVIDER, 3L);
+        assertThat(key.estimateRepositories()).isEqualTo(1);
+        assertThat(key.estimateSourceFiles()).isEqualTo(2);
+    }
+
+    @Test
+    void mergedShardsEqualSingleRun() throws IOException {
+        FeatureFlagSummary single = new FeatureFlagSummary();
+        FeatureFlagSummary[] shards = {new FeatureFlagSummary(), new FeatureFlagSummary(), new FeatureFlagSummary()};
+        for (int repository = 0; repository < 30; repository++) {
+            for (int file = 0; file < 20; file++) {
+                String key = "flag-" + (repository * file % 7);
+                single.add("repo-" + repository, "F" + file + ".java", key, PROVIDER);
+                shards[repository % shards.length].add("repo-" + repository, "F" + file + ".java", key, PROVIDER);
+            }
+        }
+
+        FeatureFlagSummary merged = new FeatureFlagSummary();
+        for (FeatureFlagSummary shard : shards) {
+            merged.merge(roundTrip(shard));
+        }
+        assertThat(bytes(merged)).isEqualTo(bytes(single));
+    }
+
+    @Test
+    void mergeIsAssociative() throws IOException {
+        FeatureFlagSummary a = summaryOf("repo-a", 0, 50);
+        FeatureFlagSummary b = summaryOf("repo-b", 25, 400);
+        FeatureFlagSummary c = summaryOf("repo-c", 300, 2_000);
+
+        FeatureFlagSummary left = new FeatureFlagSummary().merge(a).merge(b).merge(c);
+        FeatureFlagSummary right = new FeatureFlagSummary().merge(a).merge(new FeatureFlagSummary().merge(b).merge(c));
+        FeatureFlagSummary reversed = new FeatureFlagSummary().merge(c).merge(b).merge(a);
+        assertThat(bytes(left)).isEqualTo(bytes(right)).isEqualTo(bytes(reversed));
+    }
+
+    @Test
+    void mergesSummaryFiles(@TempDir Path directory) throws IOException {
+        Path first = directory.resolve("shard-1.ffs");
+        Path second = directory.resolve("shard-2.ffs");
+        summaryOf("repo-a", 0, 10).write(first);
+        summaryOf("repo-b", 5, 15).write(second);
+
+        FeatureFlagSummary merged = FeatureFlagSummary.merge(asList(first, second));
+        FeatureFlagSummary.KeySummary key = merged.get("flag-key-123abc");
+        assertThat(key.getEvaluations()).isEqualTo(20);
+        assertThat(key.estimateRepositories()).isEqualTo(2);
+        assertThat(key.estimateSourceFiles()).isBetween(19L, 21L);
+    }
+
+    @Test
+    void estimatesDistinctSourceFiles() {
+        FeatureFlagSummary summary = summaryOf("repo", 0, 100_000);
+        assertThat((double) summary.get("flag-key-123abc").estimateSourceFiles()).isCloseTo(100_000, within(5_000.0));
+    }
+
+    private static FeatureFlagSummary summaryOf(String repository, int fromFile, int toFile) {
+        FeatureFlagSummary summary = new FeatureFlagSummary();
+        for (int file = fromFile; file < toFile; file++) {
+            summary.add(repository, "src/F" + file + ".java", "flag-key-123abc", PROVIDER);
+        }
+        return summary;
+    }
+
+    private static FeatureFlagSummary roundTrip(FeatureFlagSummary summary) throws IOException {
+        return FeatureFlagSummary.read(new ByteArrayInputStream(bytes(summary)));
+    }
+
+    private static byte[] bytes(FeatureFlagSummary summary) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        summary.write(out);
+        return out.toByteArray();
+    }
+}
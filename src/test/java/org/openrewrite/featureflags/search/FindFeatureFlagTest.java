@@ -17,10 +17,12 @@ package org.openrewrite.featureflags.search;
 
 import org.junit.jupiter.api.Test;
 import org.openrewrite.DocumentExample;
+import org.openrewrite.featureflags.table.DataflowBudgetExceeded;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.openrewrite.java.Assertions.java;
 
 class FindFeatureFlagTest implements RewriteTest {
@@ -137,4 +139,50 @@ class FindFeatureFlagTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void exceededDataflowBudgetFallsBackToArguments() {
+        rewriteRun(
+          spec -> spec.recipe(new FindFeatureFlag("com.acme.FeatureFlag isEnabled(String)", "flag-key-123abc", 0))
+            .dataTable(DataflowBudgetExceeded.Row.class, rows -> assertThat(rows)
+              .isNotEmpty()
+              .allSatisfy(row -> {
+                  assertThat(row.getSourcePath()).isEqualTo("Test.java");
+                  assertThat(row.getBudget()).isZero();
+              })),
+          //language=java
+          java(
+            """
+              import com.acme.FeatureFlag;
+
+              class Test {
+                  public void a(boolean other) {
+                      FeatureFlag client = new FeatureFlag();
+                      if (client.isEnabled(other ? "flag-key-789def" : "flag-key-123abc")) {
+                          // Only found by dataflow analysis
+                      }
+                      if (client.isEnabled("flag-key-123abc")) {
+                          // Application code to show the feature
+                      }
+                  }
+              }
+              """,
+            """
+              import com.acme.FeatureFlag;
+
+              class Test {
+                  public void a(boolean other) {
+                      FeatureFlag client = new FeatureFlag();
+                      if (/*~~(Possibly matches, as the dataflow analysis was skipped when the dataflow budget was exceeded)~~>*/client.isEnabled(other ? "flag-key-789def" : "flag-key-123abc")) {
+                          // Only found by dataflow analysis
+                      }
+                      if (/*~~>*/client.isEnabled("flag-key-123abc")) {
+                          // Application code to show the feature
+                      }
+                  }
+              }
+              """
+          )
+        );
+    }
 }
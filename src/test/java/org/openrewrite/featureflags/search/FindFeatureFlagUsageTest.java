@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.search;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.featureflags.table.FeatureFlagUsage;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class FindFeatureFlagUsageTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        //language=java
+        spec.parser(JavaParser.fromJavaVersion().dependsOn(
+            """
+              package com.acme;
+              public class FeatureFlag {
+                  public boolean isEnabled(String key) {
+                      return false;
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @DocumentExample
+    @Test
+    void reportsFirstUsageWithoutMarkers() {
+        rewriteRun(
+          spec -> spec.recipe(new FindFeatureFlagUsage("com.acme.FeatureFlag isEnabled(String)", "flag-key-123abc"))
+            .dataTable(FeatureFlagUsage.Row.class, rows -> assertThat(rows).containsExactly(
+              new FeatureFlagUsage.Row("com.acme.FeatureFlag isEnabled(String)", "flag-key-123abc", true, "A.java"))),
+          //language=java
+          java(
+            """
+              import com.acme.FeatureFlag;
+
+              class A {
+                  private static final String FEATURE_FLAG = "flag-key-123abc";
+                  boolean a(FeatureFlag client) {
+                      return client.isEnabled("flag-key-789def") || client.isEnabled(FEATURE_FLAG);
+                  }
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              import com.acme.FeatureFlag;
+
+              class B {
+                  boolean b(FeatureFlag client) {
+                      return client.isEnabled("flag-key-123abc");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void reportsUnusedFeatureKey() {
+        rewriteRun(
+          spec -> spec.recipe(new FindFeatureFlagUsage("com.acme.FeatureFlag isEnabled(String)", "flag-key-123abc"))
+            .dataTable(FeatureFlagUsage.Row.class, rows -> assertThat(rows).containsExactly(
+              new FeatureFlagUsage.Row("com.acme.FeatureFlag isEnabled(String)", "flag-key-123abc", false, ""))),
+          //language=java
+          java(
+            """
+              import com.acme.FeatureFlag;
+
+              class A {
+                  boolean a(FeatureFlag client) {
+                      return client.isEnabled("flag-key-789def");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+}
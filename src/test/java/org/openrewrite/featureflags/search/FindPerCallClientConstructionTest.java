@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.search;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+
+class FindPerCallClientConstructionTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(new FindPerCallClientConstruction())
+          .parser(JavaParser.fromJavaVersion()
+            .classpathFromResources(new InMemoryExecutionContext(), "launchdarkly-java-server-sdk-6.+")
+            .classpath("ff4j-core"));
+    }
+
+    @DocumentExample
+    @Test
+    void clientConstructedInMethod() {
+        rewriteRun(
+          // language=java
+          java(
+            """
+              import com.launchdarkly.sdk.LDContext;
+              import com.launchdarkly.sdk.server.LDClient;
+
+              class Foo {
+                  boolean handle(LDContext context) {
+                      LDClient client = new LDClient("sdk-key-123abc");
+                      return client.boolVariation("flag-key-123abc", context, false);
+                  }
+              }
+              """,
+            """
+              import com.launchdarkly.sdk.LDContext;
+              import com.launchdarkly.sdk.server.LDClient;
+
+              class Foo {
+                  boolean handle(LDContext context) {
+                      LDClient client = /*~~>*/new LDClient("sdk-key-123abc");
+                      return client.boolVariation("flag-key-123abc", context, false);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void clientClosedAfterUse() {
+        rewriteRun(
+          // language=java
+          java(
+            """
+              import com.launchdarkly.sdk.LDContext;
+              import com.launchdarkly.sdk.server.LDClient;
+
+              import java.io.IOException;
+
+              class Foo {
+                  boolean handle(LDContext context) throws IOException {
+                      try (LDClient client = new LDClient("sdk-key-123abc")) {
+                          return client.boolVariation("flag-key-123abc", context, false);
+                      }
+                  }
+              }
+              """,
+            """
+              import com.launchdarkly.sdk.LDContext;
+              import com.launchdarkly.sdk.server.LDClient;
+
+              import java.io.IOException;
+
+              class Foo {
+                  boolean handle(LDContext context) throws IOException {
+                      try (LDClient client = /*~~(Closed after use, so it can not be shared as is)~~>*/new LDClient("sdk-key-123abc")) {
+                          return client.boolVariation("flag-key-123abc", context, false);
+                      }
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void sharedClients() {
+        rewriteRun(
+          // language=java
+          java(
+            """
+              import org.ff4j.FF4j;
+
+              class Foo {
+                  private static final FF4j STATIC_FF4J;
+                  private final FF4j fieldFf4j = new FF4j();
+                  private final FF4j constructorFf4j;
+
+                  static {
+                      STATIC_FF4J = new FF4j();
+                  }
+
+                  Foo() {
+                      constructorFf4j = new FF4j();
+                  }
+              }
+              """
+          )
+        );
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.search;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.marker.JavaSourceSet;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+
+class HasSdkOnClasspathTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(new HasSdkOnClasspath("com.launchdarkly.sdk.server.LDClient"));
+    }
+
+    @Test
+    void sdkOnClasspath() {
+        rewriteRun(
+          // language=java
+          java(
+            """
+              class Foo {
+              }
+              """,
+            """
+              /*~~>*/class Foo {
+              }
+              """,
+            spec -> spec.markers(JavaSourceSet.build("main",
+              JavaParser.dependenciesFromResources(new InMemoryExecutionContext(), "launchdarkly-java-server-sdk-6.+")))
+          )
+        );
+    }
+
+    @Test
+    void sdkNotOnClasspath() {
+        rewriteRun(
+          // language=java
+          java(
+            """
+              class Foo {
+              }
+              """,
+            spec -> spec.markers(JavaSourceSet.build("main", JavaParser.dependenciesFromClasspath("ff4j-core")))
+          )
+        );
+    }
+
+    @Test
+    void unknownClasspath() {
+        rewriteRun(
+          // language=java
+          java(
+            """
+              class Foo {
+              }
+              """,
+            """
+              /*~~>*/class Foo {
+              }
+              """
+          )
+        );
+    }
+}
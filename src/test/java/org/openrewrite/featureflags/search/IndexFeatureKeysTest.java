@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.featureflags.RemoveBooleanFlag;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class IndexFeatureKeysTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        //language=java
+        spec.parser(JavaParser.fromJavaVersion().dependsOn(
+            """
+              package com.acme;
+              public class FeatureFlag {
+                  public boolean isEnabled(String key) {
+                      return false;
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @DocumentExample
+    @Test
+    void writesSortedIndex(@TempDir Path directory) throws IOException {
+        Path indexFile = directory.resolve("feature-keys.idx");
+        rewriteRun(
+          spec -> spec.recipe(new IndexFeatureKeys(indexFile.toString(), "com.acme.FeatureFlag isEnabled(String)")),
+          //language=java
+          java(
+            """
+              import com.acme.FeatureFlag;
+
+              class A {
+                  private static final String KEY = "flag-key-123abc";
+                  boolean a(FeatureFlag client) {
+                      return client.isEnabled(KEY) && client.isEnabled("flag-key-789def");
+                  }
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              import com.acme.FeatureFlag;
+
+              class B {
+                  boolean b(FeatureFlag client) {
+                      return client.isEnabled("flag-key-123abc");
+                  }
+              }
+              """
+          )
+        );
+
+        FeatureKeyIndex index = FeatureKeyIndex.open(indexFile);
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.sourcePaths("flag-key-123abc")).containsExactly("A.java", "B.java");
+        assertThat(index.sourcePaths("flag-key-789def")).containsExactly("A.java");
+        assertThat(index.sourcePaths("flag-key-000aaa")).isEmpty();
+    }
+
+    @Test
+    void removalOnlyVisitsIndexedSourceFiles(@TempDir Path directory) throws IOException {
+        Path indexFile = directory.resolve("feature-keys.idx");
+        FeatureKeyIndex.write(indexFile, singletonMap("flag-key-123abc", singletonList("A.java")));
+        rewriteRun(
+          spec -> spec.recipe(new RemoveBooleanFlag("com.acme.FeatureFlag isEnabled(String)", "flag-key-123abc", true, indexFile.toString(), null)),
+          //language=java
+          java(
+            """
+              import com.acme.FeatureFlag;
+
+              class A {
+                  boolean a(FeatureFlag client) {
+                      return client.isEnabled("flag-key-123abc");
+                  }
+              }
+              """,
+            """
+              import com.acme.FeatureFlag;
+
+              class A {
+                  boolean a(FeatureFlag client) {
+                      return true;
+                  }
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              import com.acme.FeatureFlag;
+
+              class B {
+                  boolean b(FeatureFlag client) {
+                      return client.isEnabled("flag-key-123abc");
+                  }
+              }
+              """
+          )
+        );
+    }
+}
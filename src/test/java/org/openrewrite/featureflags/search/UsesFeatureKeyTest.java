@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 the original author or authors.
+ * <p>
+ * Licensed under the Moderne Source Available License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://docs.moderne.io/licensing/moderne-source-available-license
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.featureflags.search;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+import static org.openrewrite.test.RewriteTest.toRecipe;
+
+class UsesFeatureKeyTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(toRecipe(() -> new UsesFeatureKey<>("flag-key-123abc")));
+    }
+
+    @Test
+    void literal() {
+        rewriteRun(
+          // language=java
+          java(
+            """
+              class Foo {
+                  String key = "flag-key-123abc";
+              }
+              """,
+            """
+              /*~~>*/class Foo {
+                  String key = "flag-key-123abc";
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void concatenation() {
+        rewriteRun(
+          // language=java
+          java(
+            """
+              class Foo {
+                  static final String PREFIX = "flag-key-";
+                  String key = PREFIX + "123abc";
+              }
+              """,
+            """
+              /*~~>*/class Foo {
+                  static final String PREFIX = "flag-key-";
+                  String key = PREFIX + "123abc";
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void otherKey() {
+        rewriteRun(
+          // language=java
+          java(
+            """
+              class Foo {
+                  String key = "flag-key-456def";
+                  String part = "flag-key";
+              }
+              """
+          )
+        );
+    }
+}